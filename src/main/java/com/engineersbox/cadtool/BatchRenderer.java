@@ -0,0 +1,231 @@
+package com.engineersbox.cadtool;
+
+import com.engineersbox.cadtool.draw.Drawing;
+import com.engineersbox.cadtool.draw.RenderState;
+import com.engineersbox.cadtool.draw.element.DrawElement;
+import com.engineersbox.cadtool.draw.factory.BasicDrawElementFactory;
+import com.engineersbox.cadtool.draw.factory.DrawElementFactory;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>
+ *     BatchRenderer - renders saved drawings to PNG images without a display, for producing
+ *     thumbnails and previews of many drawings at once.
+ * </p>
+ * <p>
+ *     Each drawing is loaded through {@link Drawing#load} and drawn through the same
+ *     {@link Drawing#draw(Graphics2D)} pass the draw area uses, scaled down to fit the image.
+ *     Files are rendered on a fixed number of threads, and no more files are queued than
+ *     there are threads, so only a bounded number of drawings and images are held in memory
+ *     regardless of how many files are given.
+ * </p>
+ * <pre>
+ *     BatchRenderer [--width N] [--height N] [--output DIR] [--threads N] [--measurements] [--stats] FILE...
+ * </pre>
+ */
+public class BatchRenderer {
+
+    private static final String USAGE = "Usage: BatchRenderer [--width N] [--height N] [--output DIR] "
+            + "[--threads N] [--measurements] [--stats] FILE...";
+    private static final String IMAGE_FORMAT = "png";
+    private static final int DEFAULT_SIZE = 256;
+    // Space left between the drawing and the edges of the image
+    private static final int MARGIN = 8;
+
+    private final int width;
+    private final int height;
+    private final File outputDirectory;
+    private final int threads;
+    private final boolean stats;
+    private final DrawElementFactory drawElementFactory;
+    private final Options options;
+    private final RenderState renderState;
+    private final AtomicLong elementCount;
+
+    public BatchRenderer(final int width,
+                         final int height,
+                         final File outputDirectory,
+                         final int threads,
+                         final boolean measurements,
+                         final boolean stats) {
+        this.width = width;
+        this.height = height;
+        this.outputDirectory = outputDirectory;
+        this.threads = threads;
+        this.stats = stats;
+        this.drawElementFactory = new BasicDrawElementFactory();
+        this.options = new Options();
+        this.renderState = new RenderState();
+        this.renderState.setMeasurements(measurements);
+        this.elementCount = new AtomicLong();
+    }
+
+    public static void main(final String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        int width = BatchRenderer.DEFAULT_SIZE;
+        int height = BatchRenderer.DEFAULT_SIZE;
+        File outputDirectory = new File(".");
+        int threads = Runtime.getRuntime().availableProcessors();
+        boolean measurements = false;
+        boolean stats = false;
+        final List<File> files = new ArrayList<>();
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--width" -> width = Integer.parseInt(args[++i]);
+                    case "--height" -> height = Integer.parseInt(args[++i]);
+                    case "--output" -> outputDirectory = new File(args[++i]);
+                    case "--threads" -> threads = Integer.parseInt(args[++i]);
+                    case "--measurements" -> measurements = true;
+                    case "--stats" -> stats = true;
+                    default -> files.add(new File(args[i]));
+                }
+            }
+        } catch (final NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            System.err.println(BatchRenderer.USAGE);
+            System.exit(2);
+        }
+        // Images must have room for the drawing inside the margin
+        if (files.isEmpty()
+                || width <= BatchRenderer.MARGIN * 2
+                || height <= BatchRenderer.MARGIN * 2
+                || threads < 1) {
+            System.err.println(BatchRenderer.USAGE);
+            System.exit(2);
+        }
+        if (!outputDirectory.isDirectory() && !outputDirectory.mkdirs()) {
+            System.err.println("Unable to create output directory " + outputDirectory);
+            System.exit(1);
+        }
+        final BatchRenderer renderer = new BatchRenderer(width, height, outputDirectory, threads, measurements, stats);
+        System.exit(renderer.renderAll(files) == files.size() ? 0 : 1);
+    }
+
+    /**
+     * Render each file to an image in the output directory, named after the file.
+     * @param files Saved drawings to render
+     * @return Number of files rendered successfully
+     */
+    public int renderAll(final List<File> files) {
+        // Once the queue is full the submitting thread renders the next file itself rather than
+        // queueing it, so the number of drawings loaded at once stays bounded
+        final ExecutorService executor = new ThreadPoolExecutor(
+                this.threads,
+                this.threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(this.threads),
+                new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+        final long start = System.nanoTime();
+        final List<Future<File>> results = new ArrayList<>(files.size());
+        for (final File file : files) {
+            results.add(executor.submit(() -> render(file)));
+        }
+        executor.shutdown();
+        int rendered = 0;
+        for (int i = 0; i < files.size(); i++) {
+            try {
+                results.get(i).get();
+                rendered++;
+            } catch (final ExecutionException e) {
+                System.err.printf("Unable to render %s: %s%n", files.get(i), e.getCause().getMessage());
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        if (this.stats) {
+            final double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf(
+                    "Rendered %d of %d files (%d elements) in %.3fs: %.1f files/s, %.0f elements/s on %d threads%n",
+                    rendered,
+                    files.size(),
+                    this.elementCount.get(),
+                    seconds,
+                    rendered / seconds,
+                    this.elementCount.get() / seconds,
+                    this.threads
+            );
+        }
+        return rendered;
+    }
+
+    /**
+     * Render a single saved drawing to an image in the output directory.
+     * @param file Saved drawing
+     * @return The image written
+     * @throws IOException If the image could not be written
+     */
+    public File render(final File file) throws IOException {
+        final Drawing drawing = Drawing.load(file, this.drawElementFactory, this.options, this.renderState);
+        final BufferedImage image = new BufferedImage(this.width, this.height, BufferedImage.TYPE_INT_RGB);
+        final Graphics2D g = image.createGraphics();
+        try {
+            g.setColor(Color.white);
+            g.fillRect(0, 0, this.width, this.height);
+            // Labels clear the area they cover to the background, which is black for an image
+            g.setBackground(Color.white);
+            g.setClip(0, 0, this.width, this.height);
+            if (!drawing.isEmpty()) {
+                fit(g, bounds(drawing));
+            }
+            g.setColor(Color.black);
+            drawing.draw(g);
+        } finally {
+            g.dispose();
+        }
+        final File output = new File(this.outputDirectory, imageName(file));
+        if (!ImageIO.write(image, BatchRenderer.IMAGE_FORMAT, output)) {
+            throw new IOException("No writer available for " + BatchRenderer.IMAGE_FORMAT);
+        }
+        this.elementCount.addAndGet(drawing.size());
+        return output;
+    }
+
+    /**
+     * Centre the drawing within the image, scaling it down if it does not fit. Drawings
+     * smaller than the image are left at their original size.
+     * @param g Graphics2D context of the image
+     * @param bounds Bounds of the drawing
+     */
+    private void fit(final Graphics2D g, final Rectangle2D bounds) {
+        final double scale = Math.min(1.0, Math.min(
+                (this.width - (BatchRenderer.MARGIN * 2)) / Math.max(bounds.getWidth(), 1.0),
+                (this.height - (BatchRenderer.MARGIN * 2)) / Math.max(bounds.getHeight(), 1.0)
+        ));
+        g.translate(this.width / 2.0, this.height / 2.0);
+        g.scale(scale, scale);
+        g.translate(-bounds.getCenterX(), -bounds.getCenterY());
+    }
+
+    private static Rectangle2D bounds(final Drawing drawing) {
+        final Rectangle2D bounds = new Rectangle2D.Double();
+        bounds.setRect(drawing.get(0).bounds());
+        for (final DrawElement element : drawing) {
+            bounds.add(element.bounds());
+        }
+        return bounds;
+    }
+
+    private static String imageName(final File file) {
+        final String name = file.getName();
+        final int extension = name.lastIndexOf('.');
+        return (extension > 0 ? name.substring(0, extension) : name) + "." + BatchRenderer.IMAGE_FORMAT;
+    }
+}
@@ -3,8 +3,12 @@ package com.engineersbox.cadtool;
 import com.engineersbox.cadtool.draw.DrawArea;
 import com.engineersbox.cadtool.draw.Drawing;
 import com.engineersbox.cadtool.draw.RenderState;
+import com.engineersbox.cadtool.draw.element.DrawElement;
+import com.engineersbox.cadtool.draw.element.DrawElementDecorator;
+import com.engineersbox.cadtool.draw.element.ElementMetadata;
 import com.engineersbox.cadtool.draw.factory.BasicDrawElementFactory;
 import com.engineersbox.cadtool.draw.factory.DrawElementFactory;
+import com.engineersbox.cadtool.draw.intersection.Intersection;
 import com.engineersbox.cadtool.toolbar.ToolBar;
 import org.reflections.Reflections;
 import org.reflections.scanners.Scanners;
@@ -18,6 +22,7 @@ import java.awt.event.ActionListener;
 import java.awt.event.ComponentEvent;
 import java.awt.event.ComponentListener;
 import java.lang.reflect.Method;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
@@ -39,6 +44,11 @@ public class MyCAD implements Runnable, ActionListener {
 	private static final String SAVE_COMMAND = "save";
 	private static final String OPEN_COMMAND = "open";
 	private static final String GPU_ACCELERATION_COMMAND = "gpuAcceleration";
+	private static final String SNAP_TO_POINTS_COMMAND = "snapToPoints";
+	private static final String SNAP_TO_GRID_COMMAND = "snapToGrid";
+	private static final String FIND_CROSSINGS_COMMAND = "findCrossings";
+	private static final String PARALLEL_RENDERING_COMMAND = "parallelRendering";
+	private static final String FRAME_STATISTICS_COMMAND = "frameStatistics";
 	private final Map<String, Consumer<ActionEvent>> eventHandlers = new Reflections(new ConfigurationBuilder()
 			.setUrls(ClasspathHelper.forClass(MyCAD.class))
 			.setScanners(Scanners.MethodsAnnotated)
@@ -88,7 +98,7 @@ public class MyCAD implements Runnable, ActionListener {
 		this.measurementMenu.addComponentListener(new ComponentListener(){
 			@Override
 			public void componentHidden(ComponentEvent e) {
-				drawArea.repaint();
+				drawArea.redrawAll();
 			}
 			@Override
 			public void componentResized(ComponentEvent e) {}
@@ -112,6 +122,22 @@ public class MyCAD implements Runnable, ActionListener {
 		gpuAccelerationCheckbox.addActionListener(this);
 		gpuAccelerationCheckbox.setActionCommand(MyCAD.GPU_ACCELERATION_COMMAND);
 		optionsMenu.add(gpuAccelerationCheckbox);
+		final JCheckBox snapToPointsCheckbox = new JCheckBox("Snap To Points", this.options.snapToPoints);
+		snapToPointsCheckbox.addActionListener(this);
+		snapToPointsCheckbox.setActionCommand(MyCAD.SNAP_TO_POINTS_COMMAND);
+		optionsMenu.add(snapToPointsCheckbox);
+		final JCheckBox snapToGridCheckbox = new JCheckBox("Snap To Grid", this.options.snapToGrid);
+		snapToGridCheckbox.addActionListener(this);
+		snapToGridCheckbox.setActionCommand(MyCAD.SNAP_TO_GRID_COMMAND);
+		optionsMenu.add(snapToGridCheckbox);
+		final JCheckBox parallelRenderingCheckbox = new JCheckBox("Parallel Rendering", this.options.parallelRendering);
+		parallelRenderingCheckbox.addActionListener(this);
+		parallelRenderingCheckbox.setActionCommand(MyCAD.PARALLEL_RENDERING_COMMAND);
+		optionsMenu.add(parallelRenderingCheckbox);
+		final JCheckBox frameStatisticsCheckbox = new JCheckBox("Show Frame Statistics", this.options.showFrameStatistics);
+		frameStatisticsCheckbox.addActionListener(this);
+		frameStatisticsCheckbox.setActionCommand(MyCAD.FRAME_STATISTICS_COMMAND);
+		optionsMenu.add(frameStatisticsCheckbox);
 		bar.add(optionsMenu);
 
 		final JMenu measurementMenu = new JMenu("Measurement");
@@ -122,6 +148,10 @@ public class MyCAD implements Runnable, ActionListener {
 
 		bar.add(measurementMenu);
 
+		final JMenu toolsMenu = new JMenu("Tools");
+		makeMenuItem(toolsMenu, "Find Crossings", MyCAD.FIND_CROSSINGS_COMMAND);
+		bar.add(toolsMenu);
+
 		this.jframe.setJMenuBar(bar);
 
 		// set up the tool bar at the top of the window that enable actions like clear
@@ -199,7 +229,7 @@ public class MyCAD implements Runnable, ActionListener {
 	@ActionHandler(MyCAD.CLEAR_COMMAND)
 	private void handleClear(final ActionEvent ae) {
 		this.drawing.clearDrawing();
-		this.drawArea.repaint();
+		this.drawArea.redrawAll();
 	}
 
 	@ActionHandler(MyCAD.EXIT_COMMAND)
@@ -218,14 +248,67 @@ public class MyCAD implements Runnable, ActionListener {
 	private void handleOpen(final ActionEvent ae) {
 		if (this.fileChooser.showOpenDialog(this.jframe) == JFileChooser.APPROVE_OPTION) {
 			this.drawing = Drawing.load(this.fileChooser.getSelectedFile(), this.drawElementFactory, this.options, this.renderState);
-			this.drawArea.repaint();
+			this.drawArea.redrawAll();
+		}
+	}
+
+	@ActionHandler(MyCAD.SNAP_TO_POINTS_COMMAND)
+	private void handleSnapToPoints(final ActionEvent ae) {
+		this.options.snapToPoints = ((AbstractButton) ae.getSource()).isSelected();
+	}
+
+	@ActionHandler(MyCAD.SNAP_TO_GRID_COMMAND)
+	private void handleSnapToGrid(final ActionEvent ae) {
+		this.options.snapToGrid = ((AbstractButton) ae.getSource()).isSelected();
+	}
+
+	@ActionHandler(MyCAD.PARALLEL_RENDERING_COMMAND)
+	private void handleParallelRendering(final ActionEvent ae) {
+		this.options.parallelRendering = ((AbstractButton) ae.getSource()).isSelected();
+	}
+
+	@ActionHandler(MyCAD.FRAME_STATISTICS_COMMAND)
+	private void handleFrameStatistics(final ActionEvent ae) {
+		this.options.showFrameStatistics = ((AbstractButton) ae.getSource()).isSelected();
+		this.drawArea.repaint();
+	}
+
+	@ActionHandler(MyCAD.FIND_CROSSINGS_COMMAND)
+	private void handleFindCrossings(final ActionEvent ae) {
+		final List<Intersection> crossings = this.drawing.findIntersections();
+		final StringBuilder report = new StringBuilder();
+		for (final Intersection crossing : crossings) {
+			report.append(String.format(
+					"(%.2f, %.2f)\t%s x %s%n",
+					crossing.x(),
+					crossing.y(),
+					elementName(crossing.first()),
+					elementName(crossing.second())
+			));
 		}
+		final JTextArea reportArea = new JTextArea(report.toString(), 20, 40);
+		reportArea.setEditable(false);
+		JOptionPane.showMessageDialog(
+				this.jframe,
+				new JScrollPane(reportArea),
+				String.format("%d Crossings", crossings.size()),
+				JOptionPane.INFORMATION_MESSAGE
+		);
+	}
+
+	private static String elementName(final DrawElement element) {
+		DrawElement inner = element;
+		while (inner instanceof final DrawElementDecorator decorator) {
+			inner = decorator.drawElement;
+		}
+		final ElementMetadata metadata = inner.getClass().getAnnotation(ElementMetadata.class);
+		return metadata == null ? inner.getClass().getSimpleName() : metadata.displayName();
 	}
 
 	@ActionHandler(MyCAD.GPU_ACCELERATION_COMMAND)
 	private void handleGPUAcceleration(final ActionEvent ae) {
 		this.options.useGpuAcceleration = true;
 		this.drawing.updateOptions();
-		this.drawArea.repaint();
+		this.drawArea.redrawAll();
 	}
 }
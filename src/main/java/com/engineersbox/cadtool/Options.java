@@ -2,4 +2,13 @@ package com.engineersbox.cadtool;
 
 public class Options {
     public boolean useGpuAcceleration = false;
+    public boolean snapToPoints = true;
+    public boolean snapToGrid = false;
+    public double gridSpacing = 10.0;
+    // Bytes of rendered tiles retained between repaints
+    public long tileCacheBudget = 64L * 1024 * 1024;
+    // Render tiles across all cores instead of only on the event dispatch thread
+    public boolean parallelRendering = true;
+    // Show paint timings over the drawing
+    public boolean showFrameStatistics = false;
 }
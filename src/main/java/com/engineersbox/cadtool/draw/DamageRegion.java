@@ -0,0 +1,80 @@
+package com.engineersbox.cadtool.draw;
+
+import java.awt.*;
+import java.awt.geom.Rectangle2D;
+
+/**
+ * DamageRegion - accumulates the area of the view invalidated by changes since it was
+ * last repainted, so only that area needs to be redrawn. Areas are held in the coordinates
+ * they were included in, which for a drawing are drawing coordinates.
+ */
+public class DamageRegion {
+
+    private final Rectangle2D bounds;
+    private boolean empty;
+    private boolean everything;
+
+    public DamageRegion() {
+        this.bounds = new Rectangle2D.Double();
+        reset();
+    }
+
+    /**
+     * Mark an area as damaged.
+     * @param area Area that has changed
+     * @param margin Distance beyond the area that painting may have reached
+     */
+    public void include(final Rectangle2D area, final double margin) {
+        if (this.everything) {
+            return;
+        }
+        final Rectangle2D grown = new Rectangle2D.Double(
+                area.getX() - margin,
+                area.getY() - margin,
+                area.getWidth() + (margin * 2),
+                area.getHeight() + (margin * 2)
+        );
+        if (this.empty) {
+            this.bounds.setRect(grown);
+            this.empty = false;
+        } else {
+            this.bounds.add(grown);
+        }
+    }
+
+    /**
+     * Mark the entire view as damaged, such as after a transform of the whole drawing.
+     */
+    public void includeEverything() {
+        this.everything = true;
+        this.empty = false;
+    }
+
+    public boolean isEmpty() {
+        return this.empty;
+    }
+
+    public boolean isEverything() {
+        return this.everything;
+    }
+
+    /**
+     * @return The damaged area
+     */
+    public Rectangle2D getArea() {
+        return (Rectangle2D) this.bounds.clone();
+    }
+
+    /**
+     * @return Smallest integer rectangle enclosing the damaged area
+     */
+    public Rectangle getBounds() {
+        return this.bounds.getBounds();
+    }
+
+    public void reset() {
+        this.bounds.setRect(0, 0, 0, 0);
+        this.empty = true;
+        this.everything = false;
+    }
+}
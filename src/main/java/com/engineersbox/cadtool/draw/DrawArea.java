@@ -3,9 +3,14 @@ package com.engineersbox.cadtool.draw;
 import com.engineersbox.cadtool.MyCAD;
 import com.engineersbox.cadtool.draw.element.*;
 import com.engineersbox.cadtool.draw.factory.DrawElementFactory;
+import com.engineersbox.cadtool.draw.render.ControlPointOverlay;
+import com.engineersbox.cadtool.draw.render.FrameStatistics;
+import com.engineersbox.cadtool.draw.render.LevelOfDetail;
+import com.engineersbox.cadtool.draw.render.TiledRenderer;
 import com.engineersbox.cadtool.toolbar.ToolChangeObserver;
 import com.engineersbox.cadtool.utils.AffineTransformUtils;
 import com.engineersbox.cadtool.utils.PointUtils;
+import com.engineersbox.cadtool.utils.RectangleUtils;
 import com.engineersbox.cadtool.utils.StateUtils;
 import org.reflections.Reflections;
 import org.reflections.scanners.Scanners;
@@ -15,13 +20,18 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
 import java.awt.geom.AffineTransform;
-import java.awt.geom.Ellipse2D;
+import java.awt.geom.NoninvertibleTransformException;
 import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
 import java.io.Serial;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -35,6 +45,16 @@ public class DrawArea extends JComponent implements MouseMotionListener, MouseLi
 	@Serial
 	private static final long serialVersionUID = 1L;
 	private static final float SCALE_FACTOR = 0.1f;
+	// Distances on screen within which positions snap and control points are picked
+	private static final double SNAP_RADIUS = 8.0;
+	private static final double PICK_RADIUS = 5.0;
+	private static final double CONTROL_POINT_MARKER_RADIUS = 2.0;
+	// Extent of control point markers and their stroke beyond the points they are drawn at
+	private static final double DAMAGE_PADDING = DrawArea.CONTROL_POINT_MARKER_RADIUS + 2.0;
+	// Inset of the frame statistics panel from the corner of the visible area
+	private static final int HUD_INSET = 8;
+	// Input is applied at the display refresh rate, or at this rate where it is unknown
+	private static final int DEFAULT_REFRESH_RATE = 60;
 	private static final URL ELEMENT_SEARCH_PACKAGE = ClasspathHelper.forClass(DrawElement.class);
 	private static final Reflections ELEMENT_REFLECTIONS = new Reflections(
 			DrawArea.ELEMENT_SEARCH_PACKAGE,
@@ -61,13 +81,33 @@ public class DrawArea extends JComponent implements MouseMotionListener, MouseLi
 	private boolean rightMousePressed;
 	private boolean isSelectingPointGroup;
 	private BoxElement selectionBox;
-	private final List<ElementControlPoint> selectedControlPoints;
+	private Rectangle2D selectionArea;
+	private final Set<ElementControlPoint> selectedControlPoints;
+	private final Set<ElementControlPoint> priorSelectedControlPoints;
 	private boolean isNAryPointElement;
 	private String currentTool;
-
-	private final AffineTransform transform;
-	private Point2D currentPointerPosition;
-	private Point2D previousPointerPosition;
+	private final DamageRegion overlayDamage;
+	private final TiledRenderer tiledRenderer;
+	private final ControlPointOverlay controlPointOverlay;
+	private final FrameStatistics frameStatistics;
+	private Drawing renderedDrawing;
+	private BufferedImage frozenBackground;
+	private Rectangle frozenArea;
+	private double frozenScale;
+
+	// Maps drawing coordinates to the component, as a uniform scale and a translation
+	private final AffineTransform view;
+	// Pointer positions and pending input are updated in place on every mouse event, rather than replaced
+	private final Point2D currentPointerPosition;
+	private final Point2D previousPointerPosition;
+	private final Timer inputFrameTimer;
+	private final AffineTransform pendingViewTransform;
+	private final AffineTransform pendingSelectionTransform;
+	private final Point2D pendingSelectionCorner;
+	private boolean hasPendingSelectionCorner;
+	private final Point2D pendingControlPosition;
+	private boolean hasPendingControlPosition;
+	private final Point2D selectionMovePosition;
 
 	/**
 	 * Construct a DrawArea Object.
@@ -84,7 +124,8 @@ public class DrawArea extends JComponent implements MouseMotionListener, MouseLi
 		this.rightMousePressed = false;
 		this.isNAryPointElement = false;
 		this.controlPoints = new ArrayList<>();
-		this.selectedControlPoints = new ArrayList<>();
+		this.selectedControlPoints = new LinkedHashSet<>();
+		this.priorSelectedControlPoints = new HashSet<>();
 		this.setPreferredSize(new Dimension(700, 500));
 		this.addMouseMotionListener(this);
 		this.addMouseListener(this);
@@ -97,7 +138,25 @@ public class DrawArea extends JComponent implements MouseMotionListener, MouseLi
 		this.previousPointerPosition = new Point2D.Double();
 		drawGUI.drawtool.addChangeObserver(this);
 		this.currentTool = (String) drawGUI.drawtool.getSelectCommand();
-		this.transform = new AffineTransform();
+		this.view = new AffineTransform();
+		this.inputFrameTimer = new Timer(DrawArea.frameInterval(), (final ActionEvent e) -> applyPendingInput());
+		this.inputFrameTimer.setRepeats(false);
+		this.pendingViewTransform = new AffineTransform();
+		this.pendingSelectionTransform = new AffineTransform();
+		this.pendingSelectionCorner = new Point2D.Double();
+		this.hasPendingSelectionCorner = false;
+		this.pendingControlPosition = new Point2D.Double();
+		this.hasPendingControlPosition = false;
+		this.selectionMovePosition = new Point2D.Double();
+		this.overlayDamage = new DamageRegion();
+		this.tiledRenderer = new TiledRenderer(drawGUI.drawing.options.tileCacheBudget);
+		this.controlPointOverlay = new ControlPointOverlay(DrawArea.CONTROL_POINT_MARKER_RADIUS);
+		this.frameStatistics = new FrameStatistics();
+		this.renderedDrawing = drawGUI.drawing;
+		this.renderedDrawing.setStatistics(this.frameStatistics);
+		this.tiledRenderer.setStatistics(this.frameStatistics);
+		this.frozenBackground = null;
+		this.frozenArea = null;
 	}
 
 	private void bindKeys() {
@@ -111,12 +170,13 @@ public class DrawArea extends JComponent implements MouseMotionListener, MouseLi
 				new AbstractAction() {
 					@Override
 					public void actionPerformed(ActionEvent e) {
+						applyPendingInput();
 						if (isNAryPointElement) {
 							isNAryPointElement = false;
 							currentControlPointCount = 0;
-							currentControl = null;
+							setCurrentControl(null);
 							controlPoints.clear();
-							repaint();
+							repaintDamage();
 						}
 					}
 				}
@@ -132,11 +192,13 @@ public class DrawArea extends JComponent implements MouseMotionListener, MouseLi
 				new AbstractAction() {
 					@Override
 					public void actionPerformed(ActionEvent e) {
+						applyPendingInput();
 						if (!selectedControlPoints.isEmpty()) {
 							selectedControlPoints.clear();
 							selectionBox = null;
 							isSelectingPointGroup = false;
-							repaint();
+							overlayDamage.includeEverything();
+							repaintDamage();
 						}
 					}
 				}
@@ -147,37 +209,351 @@ public class DrawArea extends JComponent implements MouseMotionListener, MouseLi
 	public void mouseWheelMoved(final MouseWheelEvent mouseWheelEvent) {
 		// negative = scroll up, positive = scroll down
 		final float scale = mouseWheelEvent.getWheelRotation() < 0 ? 1 + DrawArea.SCALE_FACTOR : 1 - DrawArea.SCALE_FACTOR;
-		this.transform.setTransform(AffineTransformUtils.getRelativeScale(
+		this.pendingViewTransform.preConcatenate(AffineTransformUtils.getRelativeScale(
 				scale,
 				scale,
 				this.currentPointerPosition
 		));
-		this.drawGUI.drawing.applyTransform(this.transform);
+		scheduleInputFrame();
+	}
+
+	private static int frameInterval() {
+		int refreshRate = DisplayMode.REFRESH_RATE_UNKNOWN;
+		if (!GraphicsEnvironment.isHeadless()) {
+			refreshRate = GraphicsEnvironment.getLocalGraphicsEnvironment()
+					.getDefaultScreenDevice()
+					.getDisplayMode()
+					.getRefreshRate();
+		}
+		return 1000 / (refreshRate == DisplayMode.REFRESH_RATE_UNKNOWN ? DrawArea.DEFAULT_REFRESH_RATE : refreshRate);
+	}
+
+	/**
+	 * Apply the input accumulated since the last frame at the start of the next one. Pointers
+	 * and wheels may report far more events than can be painted, so events only accumulate a
+	 * pending change, and each frame applies it to the drawing once.
+	 */
+	private void scheduleInputFrame() {
+		if (!this.inputFrameTimer.isRunning()) {
+			this.inputFrameTimer.start();
+		}
+	}
+
+	/**
+	 * Apply any input accumulated since the last frame: the compounded pan and zoom of the
+	 * view, the summed movement of selected control points, and the latest positions of the
+	 * selection box and of the control point being moved. Also called before handling any
+	 * input that depends on the result, such as pressing or releasing a button.
+	 */
+	private void applyPendingInput() {
+		this.inputFrameTimer.stop();
+		if (!this.pendingViewTransform.isIdentity()) {
+			// Kept exact so the point under the cursor stays put while zooming, tiles round it when painted
+			this.view.preConcatenate(this.pendingViewTransform);
+			this.pendingViewTransform.setToIdentity();
+			this.frozenBackground = null;
+			this.overlayDamage.includeEverything();
+		}
+		if (this.hasPendingSelectionCorner && this.selectionBox != null) {
+			this.overlayDamage.include(this.selectionBox.bounds(), 0);
+			this.selectionBox.moveControlPoint(1, this.pendingSelectionCorner);
+			this.overlayDamage.include(this.selectionBox.bounds(), 0);
+			updateSelectedControlPoints();
+		}
+		if (!this.pendingSelectionTransform.isIdentity()) {
+			for (final ElementControlPoint controlPoint : this.selectedControlPoints) {
+				// Elements copy the position they are given, so one point is reused for every move
+				controlPoint.element().controlPoint(controlPoint.control(), this.selectionMovePosition);
+				this.drawGUI.drawing.moveControlPoint(
+						controlPoint,
+						PointUtils.applyTransform(
+								this.selectionMovePosition,
+								this.pendingSelectionTransform,
+								this.selectionMovePosition
+						)
+				);
+			}
+			this.pendingSelectionTransform.setToIdentity();
+			// Elements other than the live one have changed beneath the frozen background
+			invalidateTiles(this.drawGUI.drawing.getDamage());
+		}
+		if (this.hasPendingControlPosition && this.currentControl != null) {
+			this.drawGUI.drawing.moveControlPoint(
+					this.currentControl,
+					snap(this.pendingControlPosition, this.currentControl.element())
+			);
+		}
+		this.hasPendingSelectionCorner = false;
+		this.hasPendingControlPosition = false;
+		repaintDamage();
+	}
+
+	/**
+	 * Repaint only the areas invalidated since the last repaint, by changes to the
+	 * drawing and to the overlays drawn over it. Cached tiles beneath changes to the
+	 * drawing are discarded to be rendered again, unless the only element changing
+	 * is the live one, which is in neither the tiles nor the frozen background.
+	 */
+	private void repaintDamage() {
+		final DamageRegion drawingDamage = this.drawGUI.drawing.getDamage();
+		if (liveElement() == null || drawingDamage.isEverything()) {
+			invalidateTiles(drawingDamage);
+		}
+		repaintDamage(drawingDamage, drawingPadding());
+		repaintDamage(this.overlayDamage, DrawArea.DAMAGE_PADDING);
+		if (this.drawGUI.drawing.options.showFrameStatistics && this.fontMetrics != null) {
+			// Keep the figures current with each frame painted for the edit
+			repaint(hudBounds());
+		}
+	}
+
+	private Rectangle hudBounds() {
+		final Rectangle visible = getVisibleRect();
+		return this.frameStatistics.hudBounds(
+				this.fontMetrics,
+				visible.x + DrawArea.HUD_INSET,
+				visible.y + DrawArea.HUD_INSET
+		);
+	}
+
+	/**
+	 * @return Timings of the most recent frames painted, shown over the drawing when
+	 * enabled in the options and recorded regardless.
+	 */
+	public FrameStatistics getFrameStatistics() {
+		return this.frameStatistics;
+	}
+
+	private void invalidateTiles(final DamageRegion damage) {
+		if (damage.isEverything()) {
+			this.tiledRenderer.getCache().invalidateAll();
+			this.frozenBackground = null;
+		} else if (!damage.isEmpty()) {
+			this.tiledRenderer.invalidate(damage.getArea(), drawingPadding());
+			this.frozenBackground = null;
+		}
+	}
+
+	private void repaintDamage(final DamageRegion damage, final double padding) {
+		if (damage.isEverything()) {
+			repaint();
+		} else if (!damage.isEmpty()) {
+			repaint(paddedBounds(damage, padding));
+		}
+		damage.reset();
+	}
+
+	/**
+	 * @return Distance on screen beyond the bounds of changed elements that painting may
+	 * have reached, whether by the elements and their measurements or by control point markers
+	 */
+	private double drawingPadding() {
+		return Math.max(DrawArea.DAMAGE_PADDING, this.drawGUI.drawing.renderMargin());
+	}
+
+	/**
+	 * @param damage Damage in drawing coordinates
+	 * @param padding Distance on screen beyond the damage that painting may have reached
+	 * @return Area of the component covering the damage and anything painted around it
+	 */
+	private Rectangle paddedBounds(final DamageRegion damage, final double padding) {
+		final Rectangle bounds = this.view.createTransformedShape(damage.getArea()).getBounds();
+		bounds.grow((int) Math.ceil(padding), (int) Math.ceil(padding));
+		return bounds;
+	}
+
+	/**
+	 * @param point Position on the component
+	 * @return The position in drawing coordinates
+	 */
+	private Point2D toDrawing(final Point2D point) {
+		return toDrawing(point, null);
+	}
+
+	/**
+	 * @param point Position in the component
+	 * @param dst Point to write the position in the drawing into, or null to allocate one
+	 * @return Position in the drawing
+	 */
+	private Point2D toDrawing(final Point2D point, final Point2D dst) {
+		try {
+			return this.view.inverseTransform(point, dst);
+		} catch (final NoninvertibleTransformException e) {
+			throw new IllegalStateException("View transform is not invertible", e);
+		}
+	}
+
+	/**
+	 * @return Number of pixels per unit of drawing space
+	 */
+	private double viewScale() {
+		return this.view.getScaleX();
+	}
+
+	/**
+	 * @return Transform from drawing coordinates to the component
+	 */
+	public AffineTransform getView() {
+		return new AffineTransform(this.view);
+	}
+
+	/**
+	 * Discard all cached rendering and repaint the whole view, for changes that
+	 * affect every element such as loading a drawing or changing how measurements
+	 * are presented.
+	 */
+	public void redrawAll() {
+		this.tiledRenderer.getCache().invalidateAll();
+		this.frozenBackground = null;
+		this.drawGUI.drawing.getDamage().reset();
 		repaint();
 	}
 
 	/**
-	 * Paint our canvas area.
+	 * Change the control point being moved. The element it belongs to is drawn live
+	 * over the cached tiles rather than into them, so the areas of the elements
+	 * entering and leaving that state must be rendered again, and any background
+	 * frozen around the previous live element is discarded.
+	 */
+	private void setCurrentControl(final ElementControlPoint control) {
+		final DrawElement previous = liveElement();
+		final DrawElement next = control == null ? null : control.element();
+		this.currentControl = control;
+		if (previous == next) {
+			return;
+		}
+		if (previous != null) {
+			this.drawGUI.drawing.invalidate(previous);
+		}
+		if (next != null) {
+			this.drawGUI.drawing.invalidate(next);
+		}
+		invalidateTiles(this.drawGUI.drawing.getDamage());
+		this.frozenBackground = null;
+	}
+
+	/**
+	 * Render everything but the live element once into an image of the visible area.
+	 * While the live element is edited nothing else changes, so each frame only needs
+	 * to composite this image and draw the live element over it. The image has as
+	 * many pixels as the device it is painted to.
+	 */
+	private void freezeBackground(final Graphics2D g, final Drawing drawing, final DrawElement live) {
+		final Rectangle area = getVisibleRect();
+		if (area.isEmpty()) {
+			return;
+		}
+		final double deviceScale = LevelOfDetail.scale(g);
+		final int width = (int) Math.ceil(area.width * deviceScale);
+		final int height = (int) Math.ceil(area.height * deviceScale);
+		final GraphicsConfiguration configuration = getGraphicsConfiguration();
+		final BufferedImage background = configuration == null
+				? new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB)
+				: configuration.createCompatibleImage(width, height, Transparency.OPAQUE);
+		final Graphics2D backgroundGraphics = background.createGraphics();
+		try {
+			backgroundGraphics.setRenderingHints(g.getRenderingHints());
+			backgroundGraphics.setFont(g.getFont());
+			backgroundGraphics.scale(deviceScale, deviceScale);
+			backgroundGraphics.translate(-area.x, -area.y);
+			backgroundGraphics.setClip(area);
+			this.tiledRenderer.paint(backgroundGraphics, area, this.view, drawing, live, configuration);
+		} finally {
+			backgroundGraphics.dispose();
+		}
+		this.frozenBackground = background;
+		this.frozenArea = area;
+		this.frozenScale = deviceScale;
+	}
+
+	private DrawElement liveElement() {
+		return this.currentControl == null ? null : this.currentControl.element();
+	}
+
+	/**
+	 * Paint our canvas area. Only the clip is redrawn, which for most edits is
+	 * just the area around the elements that changed. Each paint is timed into the
+	 * frame statistics, split into the drawing and the overlays drawn over it.
 	 * @param g Graphics2D context.
 	 */
 	@Override
 	protected void paintComponent(final Graphics g) {
 		final Graphics2D g2 = (Graphics2D) g;
+		// Sizes on screen are in pixels of the view, however many the device has to each
+		g2.setRenderingHint(LevelOfDetail.DEVICE_SCALE, LevelOfDetail.scale(g2));
 		this.fontMetrics = g2.getFontMetrics();
-		g.setColor(Color.white);
-		g.fillRect(0, 0, getWidth(), getHeight());
+		final Rectangle clip = g.getClipBounds() == null
+				? new Rectangle(0, 0, getWidth(), getHeight())
+				: g.getClipBounds();
+		final Drawing drawing = this.drawGUI.drawing;
+		// Only worth reading allocation counters while the figure is shown
+		this.frameStatistics.setSamplingAllocations(drawing.options.showFrameStatistics);
+		this.frameStatistics.beginFrame();
+		try {
+			paintDrawing(g2, clip, drawing);
+			this.frameStatistics.beginOverlay();
+			paintOverlays(g2, clip, drawing);
+		} finally {
+			this.frameStatistics.endFrame();
+		}
+		if (drawing.options.showFrameStatistics) {
+			final Rectangle hud = hudBounds();
+			this.frameStatistics.drawHud(g2, hud.x, hud.y);
+		}
+	}
 
-		g.setColor(Color.black);
-		this.drawGUI.drawing.draw(g2);
+	private void paintDrawing(final Graphics2D g2, final Rectangle clip, final Drawing drawing) {
+		if (drawing != this.renderedDrawing) {
+			this.tiledRenderer.getCache().invalidateAll();
+			this.frozenBackground = null;
+			this.renderedDrawing.setStatistics(null);
+			this.renderedDrawing = drawing;
+			drawing.setStatistics(this.frameStatistics);
+		}
+		this.tiledRenderer.getCache().setBudget(drawing.options.tileCacheBudget);
+		this.tiledRenderer.setParallel(drawing.options.parallelRendering);
+		if (this.frozenBackground != null && this.frozenScale != LevelOfDetail.scale(g2)) {
+			// Moved to a display of another resolution
+			this.frozenBackground = null;
+		}
+		if (liveElement() != null && this.frozenBackground == null) {
+			freezeBackground(g2, drawing, liveElement());
+		}
+		if (liveElement() != null && this.frozenBackground != null && this.frozenArea.contains(clip)) {
+			g2.drawImage(
+					this.frozenBackground,
+					this.frozenArea.x,
+					this.frozenArea.y,
+					this.frozenArea.width,
+					this.frozenArea.height,
+					null
+			);
+		} else {
+			this.tiledRenderer.paint(g2, clip, this.view, drawing, liveElement(), getGraphicsConfiguration());
+		}
+	}
 
-		g.setColor(Color.black);
+	private void paintOverlays(final Graphics2D g2, final Rectangle clip, final Drawing drawing) {
+		g2.setColor(Color.black);
+		if (liveElement() != null) {
+			StateUtils.pushPop(
+					(final Graphics2D g2d) -> {
+						g2d.transform(this.view);
+						g2d.setStroke(Strokes.hairline(viewScale()));
+						liveElement().draw(g2d, drawing.renderState);
+					},
+					g2
+			);
+		}
+
+		g2.setColor(Color.black);
 		final String command = (String) this.drawGUI.drawtool.getSelectCommand();
 
 		if (this.isSelectingPointGroup && this.selectionBox != null) {
 			StateUtils.pushPop(
 					(final Graphics2D g2d) -> {
 						g2d.setStroke(Strokes.FINE_DASH_STROKE);
-						this.selectionBox.draw(g2d, new RenderState());
+						g2d.draw(this.view.createTransformedShape(this.selectionBox.shape()));
 					},
 					g2
 			);
@@ -186,11 +562,13 @@ public class DrawArea extends JComponent implements MouseMotionListener, MouseLi
 			StateUtils.pushPop(
 					(final Graphics2D g2d) -> {
 						g2d.setColor(Color.green);
-						drawControlPoints(
+						// Search the clip rather than the selection, which may be far larger
+						this.controlPointOverlay.draw(
 								g2d,
-								this.selectedControlPoints.stream()
-										.map((final ElementControlPoint controlPoint) -> controlPoint.element().controlPoints().get(controlPoint.control()))
-										.toList()
+								markerClip(clip),
+								this.view,
+								drawing,
+								this.selectedControlPoints::contains
 						);
 					},
 					g2
@@ -201,76 +579,86 @@ public class DrawArea extends JComponent implements MouseMotionListener, MouseLi
 		if (!command.equals(MyCAD.EDIT_TOOL)) {
 			return;
 		}
-		for (final DrawElement de : this.drawGUI.drawing) {
-			drawControlPoints(g2, de.controlPoints());
-		}
+		this.controlPointOverlay.draw(g2, markerClip(clip), this.view, drawing, null);
 	}
 
-	private void drawControlPoints(final Graphics2D g, final List<Point2D> points) {
-		for (final Point2D p : points) {
-			g.draw(new Ellipse2D.Double(p.getX() - 2.0, p.getY() - 2.0, 4.0, 4.0));
-		}
-
+	/**
+	 * @param clip Area of the component being painted
+	 * @return Area in drawing coordinates holding every control point with a marker in the clip
+	 */
+	private Rectangle2D markerClip(final Rectangle clip) {
+		final Point2D min = toDrawing(new Point2D.Double(
+				clip.getX() - DrawArea.DAMAGE_PADDING,
+				clip.getY() - DrawArea.DAMAGE_PADDING
+		));
+		final Point2D max = toDrawing(new Point2D.Double(
+				clip.getMaxX() + DrawArea.DAMAGE_PADDING,
+				clip.getMaxY() + DrawArea.DAMAGE_PADDING
+		));
+		final Rectangle2D area = new Rectangle2D.Double();
+		area.setFrameFromDiagonal(min, max);
+		return area;
 	}
 
-	private List<ElementControlPoint> findSelectedControlPoints() {
-		// This could be improved by using a quad tree to partition the
-		// screen space and store ElementControlPoint instances in buckets of
-		// size 1, splitting when more than one point is in a region. You
-		// could even be more general with a kd-tree for example.
+	private void updateSelectedControlPoints() {
+		// Control points are held in a quad tree by the drawing, and only the
+		// strips swept between the previous and current selection box need to
+		// be searched, the rest of the selection carries over as is
 		if (this.selectionBox == null) {
-			return new ArrayList<>();
-		}
-		final List<ElementControlPoint> selectedControlPoints = new ArrayList<>();
-		for (final DrawElement element : this.drawGUI.drawing) {
-			final List<Point2D> elementControlPoints = element.controlPoints();
-			for (int i = 0; i < elementControlPoints.size(); i++) {
-				if (this.selectionBox.contains(elementControlPoints.get(i))) {
-					selectedControlPoints.add(new ElementControlPoint(
-							element,
-							i
-					));
-				}
-			}
+			return;
+		}
+		final Rectangle2D area = (Rectangle2D) this.selectionBox.bounds().clone();
+		for (final Rectangle2D added : RectangleUtils.subtract(area, this.selectionArea)) {
+			this.drawGUI.drawing.findControls(added, this.selectedControlPoints::add);
+		}
+		for (final Rectangle2D removed : RectangleUtils.subtract(this.selectionArea, area)) {
+			this.drawGUI.drawing.findControls(
+					removed,
+					(final ElementControlPoint controlPoint) -> {
+						// Points selected before this box was started stay selected
+						if (!this.priorSelectedControlPoints.contains(controlPoint)) {
+							this.selectedControlPoints.remove(controlPoint);
+						}
+					}
+			);
 		}
-		return selectedControlPoints;
+		this.selectionArea = area;
+	}
+
+	private Point2D snap(final Point2D point, final DrawElement exclude) {
+		return this.drawGUI.drawing.snap(point, DrawArea.SNAP_RADIUS / viewScale(), exclude);
 	}
 
 	private void updateMousePoints(final MouseEvent me) {
-		this.previousPointerPosition = new Point2D.Double(
-				this.currentPointerPosition.getX(),
-				this.currentPointerPosition.getY()
-		);
-		this.currentPointerPosition = me.getPoint();
+		this.previousPointerPosition.setLocation(this.currentPointerPosition);
+		this.currentPointerPosition.setLocation(me.getX(), me.getY());
 	}
 
 	@Override
 	public void mouseDragged(final MouseEvent me) {
 		updateMousePoints(me);
 		if (this.isSelectingPointGroup) {
-			this.selectionBox.moveControlPoint(1, me.getPoint());
-			this.selectedControlPoints.addAll(findSelectedControlPoints());
+			toDrawing(this.currentPointerPosition, this.pendingSelectionCorner);
+			this.hasPendingSelectionCorner = true;
 		}
 		if (this.rightMousePressed && !me.isShiftDown()) {
-			this.transform.setToTranslation(
-					(this.currentPointerPosition.getX() - this.previousPointerPosition.getX()),
-					(this.currentPointerPosition.getY() - this.previousPointerPosition.getY())
-			);
+			final double dx = this.currentPointerPosition.getX() - this.previousPointerPosition.getX();
+			final double dy = this.currentPointerPosition.getY() - this.previousPointerPosition.getY();
 			if (!this.selectedControlPoints.isEmpty()) {
-				for (final ElementControlPoint controlPoint : this.selectedControlPoints) {
-					controlPoint.element().moveControlPoint(
-							controlPoint.control(),
-							PointUtils.applyTransform(controlPoint.element().controlPoints().get(controlPoint.control()), transform)
-					);
-				}
+				AffineTransformUtils.preTranslate(
+						this.pendingSelectionTransform,
+						dx / viewScale(),
+						dy / viewScale()
+				);
 			} else if (!this.isSelectingPointGroup) {
-				this.drawGUI.drawing.applyTransform(this.transform);
+				AffineTransformUtils.preTranslate(this.pendingViewTransform, dx, dy);
 			}
 		}
 		if (this.currentControl != null) {
-			this.currentControl.element().moveControlPoint(this.currentControl.control(), this.currentPointerPosition);
+			toDrawing(this.currentPointerPosition, this.pendingControlPosition);
+			this.hasPendingControlPosition = true;
 		}
-		repaint();
+		scheduleInputFrame();
 	}
 
 	@Override
@@ -295,6 +683,7 @@ public class DrawArea extends JComponent implements MouseMotionListener, MouseLi
 
 	@Override
 	public void mousePressed(final MouseEvent me) {
+		applyPendingInput();
 		updateMousePoints(me);
 		if (me.getButton() == MouseEvent.BUTTON1) {
 			leftMousePressed(me);
@@ -305,22 +694,28 @@ public class DrawArea extends JComponent implements MouseMotionListener, MouseLi
 
 	private void leftMousePressed(final MouseEvent me) {
 		this.currentTool = (String) this.drawGUI.drawtool.getSelectCommand();
-		this.selectedControlPoints.clear();
+		if (!this.selectedControlPoints.isEmpty()) {
+			this.selectedControlPoints.clear();
+			this.overlayDamage.includeEverything(); // highlighted points may be anywhere in view
+		}
 		if (this.currentTool.equals(MyCAD.EDIT_TOOL)) {
-			this.currentControl = this.drawGUI.drawing.findControl(me.getPoint());
+			setCurrentControl(this.drawGUI.drawing.findControl(
+					toDrawing(me.getPoint()),
+					DrawArea.PICK_RADIUS / viewScale()
+			));
 			this.isEditing = true;
 			this.isNAryPointElement = false;
-			repaint();
+			repaintDamage();
 			return;
 		} else if (this.controlPoints.isEmpty()) {
 			this.currentElement = this.drawAreaFactory.createElementFromMousePress(
 					this.currentTool,
 					(Color) this.drawGUI.colortool.getSelectCommand(),
-					me.getPoint()
+					snap(toDrawing(me.getPoint()), null)
 			);
 			this.currentElement.updateOptions(this.drawGUI.drawing.options);
 			this.drawGUI.drawing.add(this.currentElement);
-			this.currentControl = new ElementControlPoint(this.currentElement, 1);
+			setCurrentControl(new ElementControlPoint(this.currentElement, 1));
 			this.currentControlPointCount = DrawArea.ELEMENT_CONTROL_POINTS.getOrDefault(this.currentTool, 0);
 			if (this.currentControlPointCount == 0) {
 				throw new IllegalStateException("Invalid command: " + this.currentTool);
@@ -328,21 +723,25 @@ public class DrawArea extends JComponent implements MouseMotionListener, MouseLi
 				this.isNAryPointElement = true;
 			}
 		} else if (this.isNAryPointElement || this.controlPoints.size() < this.currentControlPointCount) {
-			this.currentControl = new ElementControlPoint(this.currentElement, this.controlPoints.size() + 1);
+			setCurrentControl(new ElementControlPoint(this.currentElement, this.controlPoints.size() + 1));
 		}
-		repaint();
+		repaintDamage();
 	}
 
 	private void rightMousePressed(final MouseEvent me) {
 		this.rightMousePressed = true;
 		this.isSelectingPointGroup = me.isShiftDown();
 		if (this.isSelectingPointGroup) {
-			this.selectionBox = new BoxElement(me.getPoint());
+			this.selectionBox = new BoxElement(toDrawing(me.getPoint()));
+			this.selectionArea = (Rectangle2D) this.selectionBox.bounds().clone();
+			this.priorSelectedControlPoints.clear();
+			this.priorSelectedControlPoints.addAll(this.selectedControlPoints);
 		}
 	}
 
 	@Override
 	public void mouseReleased(final MouseEvent me) {
+		applyPendingInput();
 		updateMousePoints(me);
 		if (me.getButton() == MouseEvent.BUTTON1) {
 			leftMouseReleased(me);
@@ -353,15 +752,19 @@ public class DrawArea extends JComponent implements MouseMotionListener, MouseLi
 
 	private void leftMouseReleased(final MouseEvent me) {
 		this.controlPoints.add(this.currentControl);
-		this.currentControl = null;
+		setCurrentControl(null);
 		if (this.isEditing) {
 			this.controlPoints.clear();
 			this.currentControlPointCount = 0;
 			this.isEditing = false;
+			repaintDamage();
 			return;
 		} else if (this.controlPoints.size() != this.currentControlPointCount) {
-			this.currentElement.updateControlPoints(me.getPoint());
-			repaint();
+			this.drawGUI.drawing.update(
+					this.currentElement,
+					(final DrawElement element) -> element.updateControlPoints(snap(toDrawing(me.getPoint()), element))
+			);
+			repaintDamage();
 			return;
 		} else if (this.currentElement instanceof DrawElementDecorator decoratedElement
 				&& decoratedElement.drawElement instanceof LabelElement labelElement) {
@@ -370,24 +773,28 @@ public class DrawArea extends JComponent implements MouseMotionListener, MouseLi
 				this.currentElement = null;
 				this.drawGUI.drawing.remove(this.drawGUI.drawing.size() - 1);
 			} else {
-				labelElement.setText(
-						labelTextResult,
-						this.fontMetrics.stringWidth(labelTextResult),
-						this.fontMetrics.getHeight()
+				this.drawGUI.drawing.update(
+						this.currentElement,
+						(final DrawElement element) -> labelElement.setText(
+								labelTextResult,
+								(int) Math.ceil(this.fontMetrics.stringWidth(labelTextResult) / viewScale()),
+								(int) Math.ceil(this.fontMetrics.getHeight() / viewScale())
+						)
 				);
 			}
 		}
 		this.controlPoints.clear();
 		this.currentControlPointCount = 0;
-		repaint();
+		repaintDamage();
 	}
 
 	private void rightMouseReleased(final MouseEvent me) {
 		this.rightMousePressed = false;
 		if (this.isSelectingPointGroup) {
+			this.overlayDamage.include(this.selectionBox.bounds(), 0);
 			this.selectionBox = null;
 			this.isSelectingPointGroup = false;
-			repaint();
+			repaintDamage();
 		}
 	}
 
@@ -1,22 +1,58 @@
 package com.engineersbox.cadtool.draw;
 
 import com.engineersbox.cadtool.Options;
+import com.engineersbox.cadtool.draw.coordinate.CoordinateBuffer;
+import com.engineersbox.cadtool.draw.coordinate.Coordinates;
 import com.engineersbox.cadtool.draw.element.DrawElement;
 import com.engineersbox.cadtool.draw.element.ElementControlPoint;
+import com.engineersbox.cadtool.draw.index.ControlPointIndex;
+import com.engineersbox.cadtool.draw.index.ElementBoundsIndex;
+import com.engineersbox.cadtool.draw.index.ElementIndex;
+import com.engineersbox.cadtool.draw.intersection.Intersection;
+import com.engineersbox.cadtool.draw.intersection.IntersectionIndex;
+import com.engineersbox.cadtool.draw.render.FrameStatistics;
+import com.engineersbox.cadtool.draw.render.LevelOfDetail;
+import com.engineersbox.cadtool.draw.render.RenderBatch;
+import com.engineersbox.cadtool.draw.snap.SnapEngine;
+import com.engineersbox.cadtool.facade.BinaryLoadFacade;
+import com.engineersbox.cadtool.facade.BinaryStoreFacade;
 import com.engineersbox.cadtool.facade.LoadFacade;
 import com.engineersbox.cadtool.facade.StoreFacade;
+import com.engineersbox.cadtool.facade.XmlLoadFacade;
+import com.engineersbox.cadtool.facade.XmlStoreFacade;
 import com.engineersbox.cadtool.draw.factory.DrawElementFactory;
 
 import java.awt.*;
-import java.awt.geom.AffineTransform;
 import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
 import java.io.File;
 import java.io.Serial;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.ListIterator;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 
 /**
- * Drawing - this is a list of draw elements which make up the drawing
+ * Drawing - this is a list of draw elements which make up the drawing. Spatial indices
+ * over the elements are kept in step with the list, so any change to the geometry of an
+ * element already in the drawing should be made through {@link Drawing#update}. The area
+ * affected by each change is accumulated in the {@link DamageRegion} of the drawing.
+ * The coordinates of elements are moved into a buffer shared by the whole drawing while
+ * they are part of it, and moved back out to a buffer of their own once removed.
+ * Whole drawing updates of large drawings are split across a {@link ForkJoinPool}, so
+ * the updates elements make for a change of options must only touch
+ * the state of the element itself, and each index must only read the elements while
+ * it is rebuilt.
  * @author Eric McCreath
  */
 
@@ -25,10 +61,27 @@ public class Drawing extends ArrayList<DrawElement> {
 	private static final long serialVersionUID = 1L;
 	private static final String DRAWING = "Drawing";
 	private static final int CONTROL_POINT_RADIUS = 5;
+	// Pixels beyond the bounds of an element that its outline, and its measurements when shown, may be painted in
+	private static final double RENDER_MARGIN = 2.0;
+	private static final double MEASUREMENT_RENDER_MARGIN = 96.0;
+	// Drawings with fewer elements than this are updated on the calling thread
+	private static final int PARALLEL_UPDATE_THRESHOLD = 4096;
+	// Number of elements a single task of a parallel update covers
+	private static final int PARALLEL_UPDATE_CHUNK = 1024;
 
 	DrawElementFactory drawElementFactory;
 	Options options;
 	RenderState renderState;
+	private final ControlPointIndex controlPointIndex;
+	private final ElementBoundsIndex boundsIndex;
+	private final IntersectionIndex intersectionIndex;
+	private final SnapEngine snapEngine;
+	private final List<ElementIndex> indices;
+	private final DamageRegion damage;
+	private final CoordinateBuffer coordinates;
+	private volatile FrameStatistics statistics;
+	// Iterators and sub lists go through this, so changes made through them keep the indices in step
+	private final transient List<DrawElement> view;
 
 	public Drawing(final DrawElementFactory drawElementFactory,
 				   final Options options,
@@ -36,58 +89,484 @@ public class Drawing extends ArrayList<DrawElement> {
 		this.drawElementFactory = drawElementFactory;
 		this.options = options;
 		this.renderState = renderState;
+		this.controlPointIndex = new ControlPointIndex();
+		this.boundsIndex = new ElementBoundsIndex();
+		this.intersectionIndex = new IntersectionIndex();
+		this.snapEngine = new SnapEngine(options, this.intersectionIndex);
+		this.indices = List.of(this.controlPointIndex, this.boundsIndex, this.intersectionIndex, this.snapEngine);
+		this.damage = new DamageRegion();
+		this.coordinates = new CoordinateBuffer();
+		this.statistics = null;
+		this.view = new ElementView();
+	}
+
+	@Override
+	public boolean add(final DrawElement element) {
+		adopt(element);
+		super.add(element);
+		for (final ElementIndex index : this.indices) index.insert(element);
+		damage(element.bounds());
+		return true;
+	}
+
+	@Override
+	public void add(final int index, final DrawElement element) {
+		adopt(element);
+		super.add(index, element);
+		reindex(); // drawing order of the following elements has shifted
+	}
+
+	@Override
+	public boolean addAll(final Collection<? extends DrawElement> elements) {
+		for (final DrawElement element : elements) adopt(element);
+		super.addAll(elements);
+		reindex();
+		return !elements.isEmpty();
+	}
+
+	@Override
+	public boolean addAll(final int index, final Collection<? extends DrawElement> elements) {
+		for (final DrawElement element : elements) adopt(element);
+		super.addAll(index, elements);
+		reindex();
+		return !elements.isEmpty();
+	}
+
+	@Override
+	public DrawElement set(final int index, final DrawElement element) {
+		final DrawElement previous = super.set(index, element);
+		release(previous);
+		adopt(element);
+		reindex();
+		return previous;
+	}
+
+	@Override
+	public DrawElement remove(final int index) {
+		final DrawElement removed = super.remove(index);
+		discard(removed);
+		return removed;
+	}
+
+	@Override
+	public boolean remove(final Object element) {
+		final int index = indexOf(element);
+		if (index < 0) return false;
+		remove(index);
+		return true;
+	}
+
+	@Override
+	public boolean removeIf(final Predicate<? super DrawElement> filter) {
+		Objects.requireNonNull(filter);
+		final List<DrawElement> removed = new ArrayList<>();
+		super.removeIf((final DrawElement element) -> filter.test(element) && removed.add(element));
+		for (final DrawElement element : removed) discard(element);
+		return !removed.isEmpty();
+	}
+
+	@Override
+	public boolean removeAll(final Collection<?> elements) {
+		Objects.requireNonNull(elements);
+		return removeIf(elements::contains);
+	}
+
+	@Override
+	public boolean retainAll(final Collection<?> elements) {
+		Objects.requireNonNull(elements);
+		return removeIf((final DrawElement element) -> !elements.contains(element));
+	}
+
+	@Override
+	protected void removeRange(final int fromIndex, final int toIndex) {
+		final List<DrawElement> removed = new ArrayList<>(super.subList(fromIndex, toIndex));
+		super.removeRange(fromIndex, toIndex);
+		for (final DrawElement element : removed) discard(element);
+	}
+
+	@Override
+	public void replaceAll(final UnaryOperator<DrawElement> operator) {
+		Objects.requireNonNull(operator);
+		for (int i = 0; i < size(); i++) {
+			final DrawElement previous = get(i);
+			final DrawElement next = operator.apply(previous);
+			if (next == previous) continue;
+			super.set(i, next);
+			release(previous);
+			adopt(next);
+		}
+		reindex();
+	}
+
+	@Override
+	public void sort(final Comparator<? super DrawElement> comparator) {
+		super.sort(comparator);
+		reindex(); // drawing order has changed
+	}
+
+	@Override
+	public void clear() {
+		for (final DrawElement element : this) release(element);
+		super.clear();
+		for (final ElementIndex index : this.indices) index.clear();
+		this.damage.includeEverything();
+	}
+
+	@Override
+	public Iterator<DrawElement> iterator() {
+		return this.view.iterator();
+	}
+
+	@Override
+	public ListIterator<DrawElement> listIterator() {
+		return this.view.listIterator();
+	}
+
+	@Override
+	public ListIterator<DrawElement> listIterator(final int index) {
+		return this.view.listIterator(index);
+	}
+
+	@Override
+	public List<DrawElement> subList(final int fromIndex, final int toIndex) {
+		return this.view.subList(fromIndex, toIndex);
+	}
+
+	// The drawing through its own overrides, which the iterators and sub lists of ArrayList would bypass
+	private final class ElementView extends AbstractList<DrawElement> {
+
+		@Override
+		public DrawElement get(final int index) {
+			return Drawing.this.get(index);
+		}
+
+		@Override
+		public int size() {
+			return Drawing.this.size();
+		}
+
+		@Override
+		public DrawElement set(final int index, final DrawElement element) {
+			return Drawing.this.set(index, element);
+		}
+
+		@Override
+		public void add(final int index, final DrawElement element) {
+			Drawing.this.add(index, element);
+		}
+
+		@Override
+		public DrawElement remove(final int index) {
+			return Drawing.this.remove(index);
+		}
+
+		@Override
+		protected void removeRange(final int fromIndex, final int toIndex) {
+			Drawing.this.removeRange(fromIndex, toIndex);
+		}
+	}
+
+	private void discard(final DrawElement removed) {
+		release(removed);
+		for (final ElementIndex elementIndex : this.indices) elementIndex.remove(removed);
+		damage(removed.bounds());
+	}
+
+	private void adopt(final DrawElement element) {
+		final Coordinates elementCoordinates = element.coordinates();
+		if (elementCoordinates != null) elementCoordinates.moveTo(this.coordinates);
+	}
+
+	private void release(final DrawElement element) {
+		final Coordinates elementCoordinates = element.coordinates();
+		if (elementCoordinates != null) elementCoordinates.detach();
 	}
 
 	/**
-	 * Draw each element in our 'drawing'.
+	 * Apply a change to the geometry of an element in the drawing, keeping the
+	 * spatial indices consistent with the result.
+	 * @param element Element to change
+	 * @param mutation Change to apply to the element
+	 */
+	public void update(final DrawElement element, final Consumer<DrawElement> mutation) {
+		damage(element.bounds()); // the element must be repainted where it was, and where it ends up
+		mutation.accept(element);
+		for (final ElementIndex index : this.indices) index.update(element);
+		damage(element.bounds());
+	}
+
+	private void damage(final Rectangle2D bounds) {
+		// Painting around the bounds reaches a number of pixels, so the view pads the damage by renderMargin()
+		this.damage.include(bounds, 0);
+	}
+
+	/**
+	 * Mark the area an element is painted in as damaged, without changing it. Used
+	 * when the way an element is presented changes rather than its geometry.
+	 * @param element Element to repaint
+	 */
+	public void invalidate(final DrawElement element) {
+		damage(element.bounds());
+	}
+
+	/**
+	 * Count the elements drawn and culled by each pass of {@link Drawing#draw} into
+	 * frame statistics.
+	 * @param statistics Statistics to count into. May be null to stop counting.
+	 */
+	public void setStatistics(final FrameStatistics statistics) {
+		this.statistics = statistics;
+	}
+
+	/**
+	 * @return The area invalidated by changes to the drawing since it was last reset.
+	 */
+	public DamageRegion getDamage() {
+		return this.damage;
+	}
+
+	public void moveControlPoint(final ElementControlPoint controlPoint, final Point2D pos) {
+		update(
+				controlPoint.element(),
+				(final DrawElement element) -> element.moveControlPoint(controlPoint.control(), pos)
+		);
+	}
+
+	/**
+	 * Draw each element in our 'drawing' that is visible within the clip of the context.
 	 * @param g Graphics2D context.
 	 */
 	public void draw(final Graphics2D g) {
-		for (final DrawElement d : this) d.draw(g, this.renderState);
+		draw(g, null);
+	}
+
+	/**
+	 * Draw each element in our 'drawing' that is visible within the clip of the context.
+	 * Outlines sharing a colour and stroke are stroked together through a {@link RenderBatch}.
+	 * Drawing does not modify the drawing or its elements, so separate contexts may be drawn
+	 * to from several threads at once, provided nothing changes the drawing meanwhile.
+	 * @param g Graphics2D context.
+	 * @param exclude Element to leave out, such as one being drawn separately while it is edited. May be null.
+	 */
+	public void draw(final Graphics2D g, final DrawElement exclude) {
+		final Rectangle clip = g.getClipBounds();
+		final double scale = LevelOfDetail.scale(g);
+		final RenderBatch batch = new RenderBatch(g, this.renderState);
+		final List<DrawElement> visible = clip == null ? this : findVisible(clip, LevelOfDetail.viewScale(g));
+		int drawn = 0;
+		for (final DrawElement d : visible) {
+			if (d == exclude) continue;
+			drawn++;
+			if (!LevelOfDetail.isDetailed(scale, d.bounds())) {
+				d.drawSimplified(g);
+			} else if (d.isBatchable()) {
+				batch.add(d);
+			} else {
+				// Keep elements drawn earlier beneath this one, as labels clear the area they cover
+				batch.flush();
+				d.draw(g, this.renderState);
+			}
+		}
+		batch.flush();
+		final FrameStatistics frameStatistics = this.statistics;
+		if (frameStatistics != null) {
+			frameStatistics.countElements(drawn, size() - visible.size());
+		}
 	}
 
-	public void applyTransform(final AffineTransform transform) {
-		for (final DrawElement d : this) d.applyTransform(transform);
+	/**
+	 * Find the elements that may paint within an area, in drawing order.
+	 * @param area Area to search.
+	 * @return Elements to be drawn.
+	 */
+	public List<DrawElement> findVisible(final Rectangle2D area) {
+		return findVisible(area, 1.0);
+	}
+
+	/**
+	 * Find the elements that may paint within an area when drawn at a scale, in drawing order.
+	 * Outlines and measurements keep their size on screen at any scale, so reach further into
+	 * drawing space when zoomed out.
+	 * @param area Area to search.
+	 * @param scale Number of pixels of the view per unit of drawing space.
+	 * @return Elements to be drawn.
+	 */
+	public List<DrawElement> findVisible(final Rectangle2D area, final double scale) {
+		final double margin = renderMargin() / scale;
+		return this.boundsIndex.query(new Rectangle2D.Double(
+				area.getX() - margin,
+				area.getY() - margin,
+				area.getWidth() + (margin * 2),
+				area.getHeight() + (margin * 2)
+		));
+	}
+
+	/**
+	 * @return Distance in pixels of the view beyond the bounds of an element that it may be painted in
+	 */
+	public double renderMargin() {
+		return this.renderState.measurementsEnabled() ? Drawing.MEASUREMENT_RENDER_MARGIN : Drawing.RENDER_MARGIN;
+	}
+
+	private void reindex() {
+		if (size() < Drawing.PARALLEL_UPDATE_THRESHOLD) {
+			for (final ElementIndex index : this.indices) index.rebuild(this);
+		} else {
+			// Indices are independent of each other, so are rebuilt at the same time
+			final List<ForkJoinTask<?>> rebuilds = new ArrayList<>(this.indices.size());
+			for (final ElementIndex index : this.indices) {
+				rebuilds.add(ForkJoinPool.commonPool().submit(() -> index.rebuild(this)));
+			}
+			for (final ForkJoinTask<?> rebuild : rebuilds) rebuild.join();
+		}
+		this.damage.includeEverything();
 	}
 
 	public void updateOptions() {
-		for (final DrawElement d : this) d.updateOptions(this.options);
+		forEachElement((final DrawElement d) -> d.updateOptions(this.options));
 	}
 
-	public ElementControlPoint findControl(final Point point) {
-		for (final DrawElement d : this) {
-			final List<Point2D> cps = d.controlPoints();
-			for (int i = 0;i<cps.size();i++) {  // return the first control point within the limited radius
-				if (cps.get(i).distance(point) < Drawing.CONTROL_POINT_RADIUS) return new ElementControlPoint(d,i);
+	/**
+	 * Apply an update to every element, in parallel when the drawing is large enough for it to
+	 * be worthwhile. Returns once every element has been updated, and as joining the tasks of a
+	 * parallel update orders their writes before the return, the results are visible to the
+	 * calling thread before it next paints.
+	 * @param update Update to apply, which must only change the element it is given
+	 */
+	private void forEachElement(final Consumer<DrawElement> update) {
+		// Splines calculated on the GPU share a single command queue, so are left on one thread
+		if (size() < Drawing.PARALLEL_UPDATE_THRESHOLD || this.options.useGpuAcceleration) {
+			for (final DrawElement d : this) update.accept(d);
+			return;
+		}
+		ForkJoinPool.commonPool().invoke(new ElementUpdate(this, 0, size(), update));
+	}
+
+	// Updates a range of the elements, splitting it in half until it is small enough to update directly
+	private static final class ElementUpdate extends RecursiveAction {
+		@Serial
+		private static final long serialVersionUID = 1L;
+
+		private final transient List<DrawElement> elements;
+		private final int from;
+		private final int to;
+		private final transient Consumer<DrawElement> update;
+
+		private ElementUpdate(final List<DrawElement> elements,
+							  final int from,
+							  final int to,
+							  final Consumer<DrawElement> update) {
+			this.elements = elements;
+			this.from = from;
+			this.to = to;
+			this.update = update;
+		}
+
+		@Override
+		protected void compute() {
+			if (this.to - this.from <= Drawing.PARALLEL_UPDATE_CHUNK) {
+				for (int i = this.from; i < this.to; i++) this.update.accept(this.elements.get(i));
+				return;
 			}
+			final int middle = (this.from + this.to) >>> 1;
+			invokeAll(
+					new ElementUpdate(this.elements, this.from, middle, this.update),
+					new ElementUpdate(this.elements, middle, this.to, this.update)
+			);
 		}
-		return null;
+	}
+
+	public ElementControlPoint findControl(final Point point) {
+		// return the nearest control point within the limited radius
+		return findControl(point, Drawing.CONTROL_POINT_RADIUS);
+	}
+
+	/**
+	 * @param point Position to search around.
+	 * @param radius Distance within which control points are considered.
+	 * @return The nearest control point within the radius, or null if there is none.
+	 */
+	public ElementControlPoint findControl(final Point2D point, final double radius) {
+		return this.controlPointIndex.nearest(point, radius);
+	}
+
+	public List<ElementControlPoint> findControls(final Rectangle2D area) {
+		final List<ElementControlPoint> controls = new ArrayList<>();
+		findControls(area, controls::add);
+		return controls;
+	}
+
+	public void findControls(final Rectangle2D area, final Consumer<ElementControlPoint> consumer) {
+		this.controlPointIndex.query(area, consumer);
+	}
+
+	public void findControlPositions(final Rectangle2D area, final ControlPointIndex.PositionConsumer consumer) {
+		this.controlPointIndex.queryPositions(area, consumer);
+	}
+
+	/**
+	 * Snap a position to nearby points of interest or the grid, as configured in the options.
+	 * @param point Position to snap.
+	 * @param radius Distance within which points of interest are considered.
+	 * @param exclude Element being edited, which should not snap to itself. May be null.
+	 * @return The snapped position.
+	 */
+	public Point2D snap(final Point2D point, final double radius, final DrawElement exclude) {
+		return this.snapEngine.snap(point, radius, exclude);
+	}
+
+	/**
+	 * Find every point at which the straight edges of two elements cross or touch.
+	 * @return The crossings, ordered by position.
+	 */
+	public List<Intersection> findIntersections() {
+		return this.intersectionIndex.findAll();
 	}
 
 	public void clearDrawing() {
 		clear();
 	}
 
+	/**
+	 * Save the drawing, in the compact binary format when the file is named with
+	 * {@link BinaryStoreFacade#EXTENSION} and as XML otherwise.
+	 * @param file File to save to
+	 */
 	public void save(final File file) {
-		final StoreFacade sf = new StoreFacade(file, Drawing.DRAWING);
+		final StoreFacade sf = BinaryStoreFacade.isBinary(file)
+				? new BinaryStoreFacade(file, Drawing.DRAWING)
+				: new XmlStoreFacade(file, Drawing.DRAWING);
 		for (final DrawElement de : this) de.storeElement(sf);
 		sf.close();
 	}
 
+	/**
+	 * Load a drawing, reading it in the format {@link #save} would have written it in.
+	 * @param file File to load from
+	 * @param drawElementFactory Factory to create the loaded elements with
+	 * @param options Options of the drawing
+	 * @param renderState Render state of the drawing
+	 * @return The loaded drawing
+	 */
 	public static Drawing load(final File file,
 							   final DrawElementFactory drawElementFactory,
 							   final Options options,
 							   final RenderState renderState) {
-		final LoadFacade lf = LoadFacade.load(file);
+		final LoadFacade lf = BinaryStoreFacade.isBinary(file)
+				? BinaryLoadFacade.load(file)
+				: XmlLoadFacade.load(file);
 		if (lf == null) {
 			throw new IllegalStateException("Unable to load facade");
 		}
 		final Drawing drawing = new Drawing(drawElementFactory, options, renderState);
-		String name;
-		while ((name = lf.nextElement()) != null) {
-			final DrawElement element = drawElementFactory.createElementFromLoadFacade(name, lf);
-			drawing.add(element);
+		final List<DrawElement> elements = new ArrayList<>();
+		try (lf) {
+			String name;
+			while ((name = lf.nextElement()) != null) {
+				elements.add(drawElementFactory.createElementFromLoadFacade(name, lf));
+			}
 		}
+		drawing.addAll(elements); // indices are bulk loaded in one pass
 		return drawing;
 	}
 }
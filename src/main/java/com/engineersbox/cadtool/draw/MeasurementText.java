@@ -0,0 +1,126 @@
+package com.engineersbox.cadtool.draw;
+
+import com.engineersbox.cadtool.draw.render.LevelOfDetail;
+
+import java.awt.*;
+import java.awt.font.FontRenderContext;
+import java.awt.font.TextLayout;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Point2D;
+import java.util.Objects;
+
+/**
+ * <p>
+ *     MeasurementText - the laid out text of a single measurement on an element, kept between
+ *     paints so that it is only formatted and laid out again once the measured length, or the
+ *     scale, units or precision measurements are shown in, have changed.
+ * </p>
+ * <p>
+ *     Text is held as an immutable {@link TextLayout}, so one instance may be drawn from several
+ *     tile rendering threads at once.
+ * </p>
+ * <p>
+ *     Text is laid out and drawn in screen pixels rather than drawing units, so it stays the same
+ *     size on screen at any zoom, and zooming does not lay it out again.
+ * </p>
+ */
+public class MeasurementText {
+
+    private record Layout(double length,
+                          double scale,
+                          String units,
+                          int precision,
+                          Font font,
+                          FontRenderContext fontRenderContext,
+                          TextLayout text,
+                          double width,
+                          double height) {
+
+        private boolean matches(final double length,
+                                final RenderState renderState,
+                                final Font font,
+                                final FontRenderContext fontRenderContext) {
+            return this.length == length
+                    && this.scale == renderState.getMeasurementScale()
+                    && this.precision == renderState.getMeasurementPrecision()
+                    && Objects.equals(this.units, renderState.getMeasurementUnits())
+                    && this.font.equals(font)
+                    // Only the hints, as the layout is made without the transform of the context
+                    && this.fontRenderContext.getAntiAliasingHint().equals(fontRenderContext.getAntiAliasingHint())
+                    && this.fontRenderContext.getFractionalMetricsHint().equals(fontRenderContext.getFractionalMetricsHint());
+        }
+    }
+
+    private volatile Layout layout;
+
+    /**
+     * Draw the text of a measurement centred at a point, as {@link com.engineersbox.cadtool.utils.TextUtils#centredAt}
+     * would.
+     * @param length Measured length
+     * @param point Centre of the text
+     * @param g Graphics2D context
+     * @param renderState State measurements are presented with
+     */
+    public void drawCentredAt(final double length,
+                              final Point2D point,
+                              final Graphics2D g,
+                              final RenderState renderState) {
+        drawCentredAt(length, point.getX(), point.getY(), g, renderState);
+    }
+
+    /**
+     * Draw the text of a measurement centred at a position given as coordinates.
+     * @param length Measured length
+     * @param x X coordinate of the centre of the text
+     * @param y Y coordinate of the centre of the text
+     * @param g Graphics2D context
+     * @param renderState State measurements are presented with
+     */
+    public void drawCentredAt(final double length,
+                              final double x,
+                              final double y,
+                              final Graphics2D g,
+                              final RenderState renderState) {
+        final Layout current = layout(length, g, renderState);
+        final AffineTransform transform = g.getTransform();
+        final double scale = LevelOfDetail.viewScale(g);
+        // Keeps any rotation of the text, but not the zoom
+        g.translate(x, y);
+        g.scale(1.0 / scale, 1.0 / scale);
+        current.text().draw(
+                g,
+                (float) (-current.width() / 2.0),
+                (float) (current.height() / 2.0)
+        );
+        g.setTransform(transform);
+    }
+
+    private Layout layout(final double length, final Graphics2D g, final RenderState renderState) {
+        final Font font = g.getFont();
+        final FontRenderContext fontRenderContext = g.getFontRenderContext();
+        final Layout current = this.layout;
+        if (current != null && current.matches(length, renderState, font, fontRenderContext)) {
+            return current;
+        }
+        final String text = renderState.getFinalisedMeasurementString(length);
+        final FontRenderContext pixelContext = new FontRenderContext(
+                null,
+                fontRenderContext.getAntiAliasingHint(),
+                fontRenderContext.getFractionalMetricsHint()
+        );
+        final TextLayout textLayout = new TextLayout(text, font, pixelContext);
+        final Layout laidOut = new Layout(
+                length,
+                renderState.getMeasurementScale(),
+                renderState.getMeasurementUnits(),
+                renderState.getMeasurementPrecision(),
+                font,
+                pixelContext,
+                textLayout,
+                textLayout.getAdvance(),
+                font.getLineMetrics(text, pixelContext).getHeight()
+        );
+        this.layout = laidOut;
+        return laidOut;
+    }
+}
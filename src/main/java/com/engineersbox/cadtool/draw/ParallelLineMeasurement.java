@@ -1,7 +1,6 @@
 package com.engineersbox.cadtool.draw;
 
-import com.engineersbox.cadtool.utils.PointUtils;
-import com.engineersbox.cadtool.utils.TextUtils;
+import com.engineersbox.cadtool.draw.render.LevelOfDetail;
 
 import java.awt.*;
 import java.awt.geom.Line2D;
@@ -19,40 +18,43 @@ public class ParallelLineMeasurement {
 
     public static void drawMeasurementLine(final Point2D start,
                                            final Point2D end,
+                                           final MeasurementText text,
                                            final Graphics2D g,
                                            final RenderState renderState) {
+        final double scale = LevelOfDetail.viewScale(g);
+        if (!LevelOfDetail.isMeasurable(scale, start.distance(end))) {
+            return;
+        }
+        // Offset by the same number of pixels at any zoom
+        final double offset = MEASUREMENT_OFFSET_FACTOR / scale;
         final double baseAngle = Math.atan2(
                 end.getY() - start.getY(),
                 end.getX() - start.getX()
         );
         final double offsetAngle = RAD_OF_90 + baseAngle;
-        final Point2D[] parallelLine = new Point2D[]{
-                new Point2D.Double(
-                        start.getX() + (Math.cos(offsetAngle) * MEASUREMENT_OFFSET_FACTOR),
-                        start.getY() + (Math.sin(offsetAngle) * MEASUREMENT_OFFSET_FACTOR)
-                ),
-                new Point2D.Double(
-                        end.getX() + (Math.cos(offsetAngle) * MEASUREMENT_OFFSET_FACTOR),
-                        end.getY() + (Math.sin( offsetAngle) * MEASUREMENT_OFFSET_FACTOR)
-                )
-        };
-        g.setStroke(Strokes.DASH_STROKE);
-        g.draw(new Line2D.Double(parallelLine[0], parallelLine[1]));
-        final Point2D midPoint = PointUtils.mid(parallelLine[0], parallelLine[1]);
+        final double offsetX = Math.cos(offsetAngle) * offset;
+        final double offsetY = Math.sin(offsetAngle) * offset;
+        final double parallelStartX = start.getX() + offsetX;
+        final double parallelStartY = start.getY() + offsetY;
+        final double parallelEndX = end.getX() + offsetX;
+        final double parallelEndY = end.getY() + offsetY;
+        g.setStroke(Strokes.dashed(scale));
+        g.draw(new Line2D.Double(parallelStartX, parallelStartY, parallelEndX, parallelEndY));
         final boolean isOnLeft = baseAngle > -RAD_OF_90 && baseAngle < RAD_OF_90;
-        final Point2D textCentre = new Point2D.Double(
-                midPoint.getX() + (Math.cos(offsetAngle) * MEASUREMENT_OFFSET_FACTOR * (isOnLeft ? 1.5 : 2.5)),
-                midPoint.getY() + (Math.sin( offsetAngle) * MEASUREMENT_OFFSET_FACTOR * (isOnLeft ? 1.5 : 2.5))
-        );
+        final double textOffset = isOnLeft ? 1.5 : 2.5;
+        final double textCentreX = ((parallelStartX + parallelEndX) / 2.0) + (offsetX * textOffset);
+        final double textCentreY = ((parallelStartY + parallelEndY) / 2.0) + (offsetY * textOffset);
         g.rotate(
                 baseAngle + (isOnLeft ? 0 : RAD_OF_180),
-                textCentre.getX(),
-                textCentre.getY()
+                textCentreX,
+                textCentreY
         );
-        TextUtils.centredAt(
-                renderState.getFinalisedMeasurementString(start.distance(end)),
-                textCentre,
-                g
+        text.drawCentredAt(
+                start.distance(end),
+                textCentreX,
+                textCentreY,
+                g,
+                renderState
         );
     }
 
@@ -24,4 +24,27 @@ public class Strokes {
             0.0f
     );
 
+    /**
+     * @param scale Number of pixels per unit of drawing space
+     * @return Solid stroke one pixel wide when drawn at the scale
+     */
+    public static BasicStroke hairline(final double scale) {
+        return new BasicStroke((float) (1.0 / scale));
+    }
+
+    /**
+     * @param scale Number of pixels per unit of drawing space
+     * @return {@link #DASH_STROKE} sized so it looks the same on screen when drawn at the scale
+     */
+    public static BasicStroke dashed(final double scale) {
+        final float pixel = (float) (1.0 / scale);
+        return new BasicStroke(
+                pixel,
+                BasicStroke.CAP_SQUARE,
+                BasicStroke.JOIN_MITER,
+                10.0f, new float[]{8.0f * pixel},
+                0.0f
+        );
+    }
+
 }
@@ -0,0 +1,138 @@
+package com.engineersbox.cadtool.draw.coordinate;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * <p>
+ *     CoordinateBuffer - a single primitive array holding the points of many elements packed as
+ *     consecutive x, y pairs, which elements reference by offset through {@link Coordinates}.
+ * </p>
+ * <p>
+ *     Keeping the geometry of a whole drawing in one array avoids an object per point, and keeps
+ *     the points of every element together in contiguous memory.
+ * </p>
+ * <p>
+ *     Ranges are appended to the end of the buffer and left as holes when released. Once more
+ *     than half the buffer is holes the live ranges are moved down to close them, updating the
+ *     offsets of the coordinates referencing them. A buffer is not thread safe, and should only
+ *     be changed while nothing is reading from it.
+ * </p>
+ */
+public class CoordinateBuffer {
+
+    // Capacity of a new buffer, in doubles
+    private static final int INITIAL_CAPACITY = 16;
+
+    double[] coordinates;
+    private int size;
+    private int released;
+    private final Set<Coordinates> owners;
+
+    public CoordinateBuffer() {
+        this(CoordinateBuffer.INITIAL_CAPACITY);
+    }
+
+    /**
+     * @param capacity Number of doubles to allocate space for up front
+     */
+    public CoordinateBuffer(final int capacity) {
+        this.coordinates = new double[Math.max(2, capacity)];
+        this.size = 0;
+        this.released = 0;
+        this.owners = Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+
+    /**
+     * Reserve a range of the buffer for a number of points, initialised to the origin.
+     * @param points Number of points in the range
+     * @return Coordinates referencing the range
+     */
+    public Coordinates allocate(final int points) {
+        final Coordinates allocated = new Coordinates(this, reserve(points), points);
+        this.owners.add(allocated);
+        return allocated;
+    }
+
+    int reserve(final int points) {
+        final int length = points * 2;
+        if (this.size + length > this.coordinates.length) {
+            this.coordinates = Arrays.copyOf(
+                    this.coordinates,
+                    Math.max(this.coordinates.length * 2, this.size + length)
+            );
+        }
+        final int offset = this.size;
+        Arrays.fill(this.coordinates, offset, offset + length, 0);
+        this.size += length;
+        return offset;
+    }
+
+    /**
+     * Extend a range by a number of points, in place if it is at the end of the buffer
+     * or otherwise by moving it to the end. New points are initialised to the origin.
+     * @param owner Coordinates referencing the range
+     * @param points Number of points to extend the range by
+     * @return Offset of the extended range
+     */
+    int extend(final Coordinates owner, final int points) {
+        final int length = owner.size() * 2;
+        if (owner.offset() + length == this.size) {
+            reserve(points);
+            return owner.offset();
+        }
+        final int offset = reserve(owner.size() + points);
+        System.arraycopy(this.coordinates, owner.offset(), this.coordinates, offset, length);
+        this.released += length;
+        return offset;
+    }
+
+    void adopt(final Coordinates owner) {
+        this.owners.add(owner);
+    }
+
+    /**
+     * Return the range referenced by coordinates to the buffer, compacting the buffer if
+     * enough of it has been released.
+     * @param owner Coordinates whose range is no longer used
+     */
+    void release(final Coordinates owner) {
+        if (!this.owners.remove(owner)) {
+            return;
+        }
+        this.released += owner.size() * 2;
+        if (this.released > CoordinateBuffer.INITIAL_CAPACITY && this.released * 2 > this.size) {
+            compact();
+        }
+    }
+
+    /**
+     * Move every live range down to close the holes left by released ranges, keeping their order.
+     */
+    public void compact() {
+        final Coordinates[] live = this.owners.toArray(Coordinates[]::new);
+        Arrays.sort(live, Comparator.comparingInt(Coordinates::offset));
+        int next = 0;
+        for (final Coordinates owner : live) {
+            final int length = owner.size() * 2;
+            System.arraycopy(this.coordinates, owner.offset(), this.coordinates, next, length);
+            owner.rebase(next);
+            next += length;
+        }
+        this.size = next;
+        this.released = 0;
+        if (this.coordinates.length > CoordinateBuffer.INITIAL_CAPACITY && next * 4 < this.coordinates.length) {
+            this.coordinates = Arrays.copyOf(this.coordinates, Math.max(CoordinateBuffer.INITIAL_CAPACITY, next * 2));
+        }
+    }
+
+    /**
+     * @return Number of points the buffer holds, including those in released ranges not yet reclaimed
+     */
+    public int size() {
+        return this.size / 2;
+    }
+}
@@ -0,0 +1,195 @@
+package com.engineersbox.cadtool.draw.coordinate;
+
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Point2D;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * <p>
+ *     Coordinates - the points of a single element, held as a range of a {@link CoordinateBuffer}
+ *     rather than as separate point objects.
+ * </p>
+ * <p>
+ *     An element is created with coordinates in a buffer of its own, and has them moved into the
+ *     buffer of a drawing when it is added, so its points are read and written through the same
+ *     instance wherever they are stored. Points handed out are copies, so changes to them are not
+ *     reflected in the coordinates.
+ * </p>
+ */
+public final class Coordinates {
+
+    private CoordinateBuffer buffer;
+    private int offset;
+    private int size;
+
+    Coordinates(final CoordinateBuffer buffer,
+                final int offset,
+                final int size) {
+        this.buffer = buffer;
+        this.offset = offset;
+        this.size = size;
+    }
+
+    /**
+     * Create coordinates in a buffer of their own, initialised to the given points.
+     * @param points Initial points
+     */
+    public Coordinates(final Point2D... points) {
+        this.buffer = new CoordinateBuffer(points.length * 2);
+        this.offset = this.buffer.reserve(points.length);
+        this.size = points.length;
+        this.buffer.adopt(this);
+        for (int i = 0; i < points.length; i++) {
+            set(i, points[i]);
+        }
+    }
+
+    int offset() {
+        return this.offset;
+    }
+
+    void rebase(final int offset) {
+        this.offset = offset;
+    }
+
+    /**
+     * @return Number of points
+     */
+    public int size() {
+        return this.size;
+    }
+
+    public double getX(final int index) {
+        return this.buffer.coordinates[this.offset + (Objects.checkIndex(index, this.size) * 2)];
+    }
+
+    public double getY(final int index) {
+        return this.buffer.coordinates[this.offset + (Objects.checkIndex(index, this.size) * 2) + 1];
+    }
+
+    /**
+     * @param index Index of the point
+     * @return A copy of the point
+     */
+    public Point2D get(final int index) {
+        return new Point2D.Double(getX(index), getY(index));
+    }
+
+    /**
+     * @param index Index of the point
+     * @param point Point to write the position into
+     * @return The given point
+     */
+    public Point2D get(final int index, final Point2D point) {
+        point.setLocation(getX(index), getY(index));
+        return point;
+    }
+
+    public void set(final int index, final double x, final double y) {
+        final int position = this.offset + (Objects.checkIndex(index, this.size) * 2);
+        this.buffer.coordinates[position] = x;
+        this.buffer.coordinates[position + 1] = y;
+    }
+
+    public void set(final int index, final Point2D point) {
+        set(index, point.getX(), point.getY());
+    }
+
+    /**
+     * Append a point, extending the range held in the buffer.
+     * @param point Point to append
+     */
+    public void add(final Point2D point) {
+        this.offset = this.buffer.extend(this, 1);
+        this.size++;
+        set(this.size - 1, point);
+    }
+
+    /**
+     * Move every point by the same offset.
+     * @param dx Distance to move along the x axis
+     * @param dy Distance to move along the y axis
+     */
+    public void translate(final double dx, final double dy) {
+        final double[] coordinates = this.buffer.coordinates;
+        for (int i = this.offset; i < this.offset + (this.size * 2); i += 2) {
+            coordinates[i] += dx;
+            coordinates[i + 1] += dy;
+        }
+    }
+
+    /**
+     * Transform every point in a single pass over the range.
+     * @param transform Transform to apply
+     */
+    public void transform(final AffineTransform transform) {
+        GeometryKernels.transform(transform, this.buffer.coordinates, this.offset, this.size);
+    }
+
+    /**
+     * Move the points into another buffer, releasing their range in the current one.
+     * @param target Buffer to hold the points
+     */
+    public void moveTo(final CoordinateBuffer target) {
+        if (target == this.buffer) {
+            return;
+        }
+        final int moved = target.reserve(this.size);
+        System.arraycopy(this.buffer.coordinates, this.offset, target.coordinates, moved, this.size * 2);
+        this.buffer.release(this);
+        target.adopt(this);
+        this.buffer = target;
+        this.offset = moved;
+    }
+
+    /**
+     * Move the points into a buffer of their own, such as when their element leaves a drawing.
+     */
+    public void detach() {
+        moveTo(new CoordinateBuffer(this.size * 2));
+    }
+
+    /**
+     * @return Copies of every point, in order
+     */
+    public Point2D[] toArray() {
+        final Point2D[] points = new Point2D[this.size];
+        for (int i = 0; i < this.size; i++) {
+            points[i] = get(i);
+        }
+        return points;
+    }
+
+    /**
+     * @return Copies of every point, in order
+     */
+    public List<Point2D> toList() {
+        return new ArrayList<>(List.of(toArray()));
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (!(obj instanceof final Coordinates other) || other.size != this.size) {
+            return false;
+        }
+        for (int i = 0; i < this.size; i++) {
+            if (getX(i) != other.getX(i) || getY(i) != other.getY(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        // Adding zero folds negative zero into zero, which compare as equal
+        for (int i = 0; i < this.size; i++) {
+            hash = (31 * hash) + Double.hashCode(getX(i) + 0.0);
+            hash = (31 * hash) + Double.hashCode(getY(i) + 0.0);
+        }
+        return hash;
+    }
+}
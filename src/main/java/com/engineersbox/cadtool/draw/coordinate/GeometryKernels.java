@@ -0,0 +1,146 @@
+package com.engineersbox.cadtool.draw.coordinate;
+
+import java.awt.geom.AffineTransform;
+
+/**
+ * <p>
+ *     GeometryKernels - the bulk numeric loops over packed coordinates, run with SIMD instructions
+ *     through the incubating Vector API where it is available and as plain scalar loops otherwise.
+ * </p>
+ * <p>
+ *     The Vector API is only used when the build was made with the {@code vector} profile, the
+ *     {@code jdk.incubator.vector} module has been added to the running JVM with
+ *     {@code --add-modules jdk.incubator.vector}, and the hardware supports vectors of at least two
+ *     doubles. Both paths give the same results, as neither fuses multiplies and adds.
+ * </p>
+ */
+public final class GeometryKernels {
+
+    /**
+     * Vector API implementations of the kernels. Only compiled in the {@code vector} profile, so
+     * they are looked up by name rather than linked against.
+     */
+    interface Vectorised {
+
+        boolean isSupported();
+
+        void transform(AffineTransform transform, double[] coordinates, int offset, int points);
+
+        int bezierControlPoints(double[] xs,
+                                double[] ys,
+                                int count,
+                                double smoothFactor,
+                                double[] beforeXs,
+                                double[] beforeYs,
+                                double[] afterXs,
+                                double[] afterYs);
+    }
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final String VECTOR_KERNELS = "com.engineersbox.cadtool.draw.coordinate.VectorGeometryKernels";
+    private static final Vectorised VECTOR = GeometryKernels.loadVectorKernels();
+    private static final boolean VECTORISED = GeometryKernels.VECTOR != null;
+
+    private GeometryKernels() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    private static Vectorised loadVectorKernels() {
+        if (ModuleLayer.boot().findModule(GeometryKernels.VECTOR_MODULE).isEmpty()) {
+            return null;
+        }
+        final Vectorised kernels;
+        try {
+            kernels = (Vectorised) Class.forName(GeometryKernels.VECTOR_KERNELS)
+                    .getDeclaredConstructor()
+                    .newInstance();
+        } catch (final ReflectiveOperationException | LinkageError e) {
+            // Built without the vector profile
+            return null;
+        }
+        // Without hardware support vectors are emulated, which is far slower than the scalar loops
+        return kernels.isSupported() ? kernels : null;
+    }
+
+    /**
+     * @return Whether the kernels run on the Vector API
+     */
+    public static boolean isVectorised() {
+        return GeometryKernels.VECTORISED;
+    }
+
+    /**
+     * Transform points packed as consecutive x, y pairs in place.
+     * @param transform Transform to apply
+     * @param coordinates Packed coordinates
+     * @param offset Index of the x coordinate of the first point
+     * @param points Number of points to transform
+     */
+    public static void transform(final AffineTransform transform,
+                                 final double[] coordinates,
+                                 final int offset,
+                                 final int points) {
+        if (GeometryKernels.VECTORISED) {
+            GeometryKernels.VECTOR.transform(transform, coordinates, offset, points);
+        } else {
+            transform.transform(coordinates, offset, coordinates, offset, points);
+        }
+    }
+
+    /**
+     * Calculate the control points either side of each interior point of a smoothed spline. The
+     * control points of a point lie on the line through it parallel to the chord between its
+     * neighbours, pulled towards the point by the smoothing factor.
+     * @param xs X coordinates of the points the spline passes through
+     * @param ys Y coordinates of the points the spline passes through
+     * @param count Number of points, at least three
+     * @param smoothFactor Fraction of the projection onto the chord to place control points at
+     * @param beforeXs X coordinates of the control points preceding each interior point, of length {@code count - 2}
+     * @param beforeYs Y coordinates of the control points preceding each interior point, of length {@code count - 2}
+     * @param afterXs X coordinates of the control points following each interior point, of length {@code count - 2}
+     * @param afterYs Y coordinates of the control points following each interior point, of length {@code count - 2}
+     */
+    public static void bezierControlPoints(final double[] xs,
+                                           final double[] ys,
+                                           final int count,
+                                           final double smoothFactor,
+                                           final double[] beforeXs,
+                                           final double[] beforeYs,
+                                           final double[] afterXs,
+                                           final double[] afterYs) {
+        final int first = GeometryKernels.VECTORISED
+                ? GeometryKernels.VECTOR.bezierControlPoints(xs, ys, count, smoothFactor, beforeXs, beforeYs, afterXs, afterYs)
+                : 0;
+        GeometryKernels.bezierControlPoints(first, xs, ys, count, smoothFactor, beforeXs, beforeYs, afterXs, afterYs);
+    }
+
+    /**
+     * Scalar loop over the interior points from a given segment onwards, also finishing the
+     * segments left over once the vector loop runs out of full vectors.
+     */
+    private static void bezierControlPoints(final int first,
+                                            final double[] xs,
+                                            final double[] ys,
+                                            final int count,
+                                            final double smoothFactor,
+                                            final double[] beforeXs,
+                                            final double[] beforeYs,
+                                            final double[] afterXs,
+                                            final double[] afterYs) {
+        for (int i = first; i < count - 2; i++) {
+            final double diffX = xs[i + 2] - xs[i];
+            final double diffY = ys[i + 2] - ys[i];
+            final double chordLength = Math.sqrt(diffX * diffX + diffY * diffY);
+            final double unitX = diffX / chordLength;
+            final double unitY = diffY / chordLength;
+            // Preceding control point is projected from the previous point, along the chord
+            final double before = Math.abs((xs[i + 1] - xs[i]) * unitX + (ys[i + 1] - ys[i]) * unitY);
+            beforeXs[i] = xs[i + 1] - smoothFactor * (before * unitX);
+            beforeYs[i] = ys[i + 1] - smoothFactor * (before * unitY);
+            // Following control point is projected from the next point, back along the chord
+            final double after = Math.abs((xs[i + 1] - xs[i + 2]) * -unitX + (ys[i + 1] - ys[i + 2]) * -unitY);
+            afterXs[i] = xs[i + 1] - smoothFactor * (after * -unitX);
+            afterYs[i] = ys[i + 1] - smoothFactor * (after * -unitY);
+        }
+    }
+}
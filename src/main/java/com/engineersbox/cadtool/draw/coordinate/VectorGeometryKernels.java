@@ -0,0 +1,115 @@
+package com.engineersbox.cadtool.draw.coordinate;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.awt.geom.AffineTransform;
+
+/**
+ * VectorGeometryKernels - the Vector API implementations of {@link GeometryKernels}. Only compiled
+ * in the {@code vector} profile, and only loaded once the {@code jdk.incubator.vector} module is
+ * known to be present.
+ */
+final class VectorGeometryKernels implements GeometryKernels.Vectorised {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    // Swaps the x and y of each point packed into a vector
+    private static final VectorShuffle<Double> SWAP_PAIRS = VectorShuffle.fromOp(
+            VectorGeometryKernels.SPECIES,
+            (final int lane) -> lane ^ 1
+    );
+    // Lanes holding the y of each point packed into a vector
+    private static final VectorMask<Double> Y_LANES = VectorMask.fromLong(
+            VectorGeometryKernels.SPECIES,
+            0xAAAAAAAAAAAAAAAAL
+    );
+
+    VectorGeometryKernels() {
+        // Created once by GeometryKernels
+    }
+
+    @Override
+    public boolean isSupported() {
+        return VectorGeometryKernels.SPECIES.length() >= 2;
+    }
+
+    /**
+     * Each vector holds whole points as x, y pairs, so every lane is the sum of its own coordinate
+     * and its neighbour scaled by the matching coefficients, as in
+     * {@code x' = m00 * x + m01 * y + m02} and {@code y' = m11 * y + m10 * x + m12}.
+     */
+    @Override
+    public void transform(final AffineTransform transform,
+                          final double[] coordinates,
+                          final int offset,
+                          final int points) {
+        final int length = points * 2;
+        final int bound = VectorGeometryKernels.SPECIES.loopBound(length);
+        final DoubleVector diagonal = DoubleVector.broadcast(VectorGeometryKernels.SPECIES, transform.getScaleX())
+                .blend(transform.getScaleY(), VectorGeometryKernels.Y_LANES);
+        final DoubleVector shear = DoubleVector.broadcast(VectorGeometryKernels.SPECIES, transform.getShearX())
+                .blend(transform.getShearY(), VectorGeometryKernels.Y_LANES);
+        final DoubleVector translation = DoubleVector.broadcast(VectorGeometryKernels.SPECIES, transform.getTranslateX())
+                .blend(transform.getTranslateY(), VectorGeometryKernels.Y_LANES);
+        int i = 0;
+        for (; i < bound; i += VectorGeometryKernels.SPECIES.length()) {
+            final DoubleVector point = DoubleVector.fromArray(VectorGeometryKernels.SPECIES, coordinates, offset + i);
+            point.mul(diagonal)
+                    .add(point.rearrange(VectorGeometryKernels.SWAP_PAIRS).mul(shear))
+                    .add(translation)
+                    .intoArray(coordinates, offset + i);
+        }
+        // Vectors hold an even number of lanes, so only whole points are left over
+        if (i < length) {
+            transform.transform(coordinates, offset + i, coordinates, offset + i, (length - i) / 2);
+        }
+    }
+
+    /**
+     * Vector loop of {@link GeometryKernels#bezierControlPoints}, one interior point per lane.
+     * @return Index of the first interior point left for the scalar loop
+     */
+    @Override
+    public int bezierControlPoints(final double[] xs,
+                                   final double[] ys,
+                                   final int count,
+                                   final double smoothFactor,
+                                   final double[] beforeXs,
+                                   final double[] beforeYs,
+                                   final double[] afterXs,
+                                   final double[] afterYs) {
+        final int bound = VectorGeometryKernels.SPECIES.loopBound(count - 2);
+        int i = 0;
+        for (; i < bound; i += VectorGeometryKernels.SPECIES.length()) {
+            final DoubleVector previousX = DoubleVector.fromArray(VectorGeometryKernels.SPECIES, xs, i);
+            final DoubleVector previousY = DoubleVector.fromArray(VectorGeometryKernels.SPECIES, ys, i);
+            final DoubleVector pointX = DoubleVector.fromArray(VectorGeometryKernels.SPECIES, xs, i + 1);
+            final DoubleVector pointY = DoubleVector.fromArray(VectorGeometryKernels.SPECIES, ys, i + 1);
+            final DoubleVector nextX = DoubleVector.fromArray(VectorGeometryKernels.SPECIES, xs, i + 2);
+            final DoubleVector nextY = DoubleVector.fromArray(VectorGeometryKernels.SPECIES, ys, i + 2);
+            final DoubleVector diffX = nextX.sub(previousX);
+            final DoubleVector diffY = nextY.sub(previousY);
+            final DoubleVector chordLength = diffX.mul(diffX)
+                    .add(diffY.mul(diffY))
+                    .lanewise(VectorOperators.SQRT);
+            final DoubleVector unitX = diffX.div(chordLength);
+            final DoubleVector unitY = diffY.div(chordLength);
+            final DoubleVector before = pointX.sub(previousX).mul(unitX)
+                    .add(pointY.sub(previousY).mul(unitY))
+                    .abs();
+            pointX.sub(before.mul(unitX).mul(smoothFactor)).intoArray(beforeXs, i);
+            pointY.sub(before.mul(unitY).mul(smoothFactor)).intoArray(beforeYs, i);
+            final DoubleVector backX = unitX.neg();
+            final DoubleVector backY = unitY.neg();
+            final DoubleVector after = pointX.sub(nextX).mul(backX)
+                    .add(pointY.sub(nextY).mul(backY))
+                    .abs();
+            pointX.sub(after.mul(backX).mul(smoothFactor)).intoArray(afterXs, i);
+            pointY.sub(after.mul(backY).mul(smoothFactor)).intoArray(afterYs, i);
+        }
+        return i;
+    }
+}
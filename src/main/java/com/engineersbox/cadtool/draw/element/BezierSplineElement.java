@@ -2,18 +2,19 @@ package com.engineersbox.cadtool.draw.element;
 
 import com.engineersbox.cadtool.Options;
 import com.engineersbox.cadtool.draw.RenderState;
+import com.engineersbox.cadtool.draw.coordinate.Coordinates;
 import com.engineersbox.cadtool.draw.element.spline.BezierCurve;
 import com.engineersbox.cadtool.draw.element.spline.OpenCLParams;
 import com.engineersbox.cadtool.draw.factory.FacadeLoadHandler;
 import com.engineersbox.cadtool.draw.factory.PointInitialiser;
 import com.engineersbox.cadtool.facade.LoadFacade;
 import com.engineersbox.cadtool.facade.StoreFacade;
-import com.engineersbox.cadtool.utils.PointUtils;
 
 import java.awt.*;
 import java.awt.geom.AffineTransform;
+import java.awt.geom.Line2D;
 import java.awt.geom.Point2D;
-import java.util.ArrayList;
+import java.awt.geom.Rectangle2D;
 import java.util.List;
 
 @ElementMetadata(
@@ -27,11 +28,19 @@ public class BezierSplineElement implements DrawElement {
     public static final String POINT_COUNT_ATTRIBUTE = "pointCount";
     public static final String POINT_ATTRIBUTE_TEMPLATE = "splinePoint%d";
     private static final String BEZIER_POINTS_KERNEL_PATH = "/kernels/bezier_points.ocl";
-    private static final OpenCLParams OPENCL_PARAMS = new OpenCLParams(BezierSplineElement.BEZIER_POINTS_KERNEL_PATH);
     private static final float SMOOTH_FACTOR = 0.5f;
 
-    private List<Point2D> points;
+    private final Coordinates points;
     private boolean useGpuAcceleration;
+    private final Rectangle2D bounds = new Rectangle2D.Double();
+    private final Line2D line = new Line2D.Double();
+    private BezierCurve curve;
+
+    // OpenCL is only initialised once a spline is first calculated on the GPU, so splines can be
+    // created and drawn on machines without an OpenCL runtime, such as headless build servers
+    private static final class OpenCLHolder {
+        private static final OpenCLParams OPENCL_PARAMS = new OpenCLParams(BezierSplineElement.BEZIER_POINTS_KERNEL_PATH);
+    }
 
     @PointInitialiser(BezierSplineElement.BEZIER_SPLINE_ELEMENT)
     public BezierSplineElement(final Point2D point) {
@@ -39,61 +48,125 @@ public class BezierSplineElement implements DrawElement {
     }
 
     public BezierSplineElement(final Point2D ...points) {
-        this.points = new ArrayList<>();
-        this.points.addAll(List.of(points));
+        this.points = new Coordinates(points);
         this.useGpuAcceleration = false;
+        updateGeometry();
     }
 
-    @Override
-    public void draw(final Graphics2D g, final RenderState renderState) {
-        final int pointsCount = this.points.size();
-        if (pointsCount == 0) {
-            return;
-        } else if (pointsCount < 3) {
-            g.drawLine(
-                    (int) this.points.get(0).getX(),
-                    (int) this.points.get(0).getX(),
-                    (int) this.points.get(pointsCount == 2 ? 1 : 0).getX(),
-                    (int) this.points.get(pointsCount == 2 ? 1 : 0).getY()
-            );
+    private void updateGeometry() {
+        if (this.points.size() < 3) {
+            this.curve = null;
+            this.bounds.setFrameFromDiagonal(this.points.get(0), this.points.get(0));
+            for (int i = 1; i < this.points.size(); i++) {
+                this.bounds.add(this.points.getX(i), this.points.getY(i));
+            }
+            this.line.setLine(this.points.get(0), this.points.get(this.points.size() - 1));
             return;
         }
-        new BezierCurve(
-                this.points.toArray(Point2D[]::new),
+        this.curve = new BezierCurve(
+                this.points.toArray(),
                 BezierSplineElement.SMOOTH_FACTOR,
-                BezierSplineElement.OPENCL_PARAMS,
+                this.useGpuAcceleration ? OpenCLHolder.OPENCL_PARAMS : null,
                 this.useGpuAcceleration
-        ).draw(g, renderState);
+        );
+        this.bounds.setRect(this.curve.bounds());
+    }
+
+    @Override
+    public void draw(final Graphics2D g, final RenderState renderState) {
+        if (this.curve == null) {
+            g.draw(this.line);
+            return;
+        }
+        this.curve.draw(g, renderState);
+    }
+
+    @Override
+    public boolean isBatchable() {
+        return true;
+    }
+
+    @Override
+    public void drawMeasurements(final Graphics2D g, final RenderState renderState) {
+        if (this.curve != null) {
+            this.curve.drawMeasurements(g, renderState);
+        }
     }
 
     @Override
     public void applyTransform(final AffineTransform transform) {
-        this.points = this.points.stream()
-                .map((final Point2D point) -> PointUtils.applyTransform(point, transform))
-                .toList();
+        this.points.transform(transform);
+        updateGeometry();
     }
 
     @Override
-    public List<Point2D> controlPoints() {
+    public Coordinates coordinates() {
         return this.points;
     }
 
+    @Override
+    public void coordinatesChanged() {
+        updateGeometry();
+    }
+
+    @Override
+    public Rectangle2D bounds() {
+        return this.bounds;
+    }
+
+    @Override
+    public Shape shape() {
+        return this.curve == null ? this.line : this.curve.shape();
+    }
+
+    @Override
+    public Shape shape(final double scale) {
+        return this.curve == null ? this.line : this.curve.shape(scale);
+    }
+
+    @Override
+    public List<Point2D> controlPoints() {
+        return this.points.toList();
+    }
+
+    @Override
+    public Point2D controlPoint(final int control, final Point2D point) {
+        return this.points.get(control, point);
+    }
+
+    /**
+     * Until a third point is placed the spline is drawn as a straight line between
+     * its points, which is the only part of it with straight segments.
+     */
+    @Override
+    public List<Line2D> segments() {
+        if (this.points.size() != 2) {
+            return List.of();
+        }
+        return List.of(new Line2D.Double(this.points.get(0), this.points.get(1)));
+    }
+
     @Override
     public void moveControlPoint(final int control, final Point2D pos) {
         if (control < 0 || control >= this.points.size()) {
             return;
         }
         this.points.set(control, pos);
+        updateGeometry();
     }
 
     @Override
     public void updateControlPoints(final Point2D point) {
         this.points.add(point);
+        updateGeometry();
     }
 
     @Override
     public void updateOptions(final Options options) {
-        this.useGpuAcceleration = options.useGpuAcceleration;
+        if (this.useGpuAcceleration != options.useGpuAcceleration) {
+            this.useGpuAcceleration = options.useGpuAcceleration;
+            updateGeometry();
+        }
     }
 
     @Override
@@ -1,20 +1,24 @@
 package com.engineersbox.cadtool.draw.element;
 
 import com.engineersbox.cadtool.Options;
+import com.engineersbox.cadtool.draw.MeasurementText;
 import com.engineersbox.cadtool.draw.RenderState;
 import com.engineersbox.cadtool.draw.Strokes;
+import com.engineersbox.cadtool.draw.coordinate.Coordinates;
 import com.engineersbox.cadtool.draw.factory.FacadeLoadHandler;
 import com.engineersbox.cadtool.draw.factory.PointInitialiser;
+import com.engineersbox.cadtool.draw.render.LevelOfDetail;
 import com.engineersbox.cadtool.facade.LoadFacade;
 import com.engineersbox.cadtool.utils.PointUtils;
 import com.engineersbox.cadtool.facade.StoreFacade;
 import com.engineersbox.cadtool.utils.StateUtils;
-import com.engineersbox.cadtool.utils.TextUtils;
 
 import java.awt.*;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Line2D;
+import java.awt.geom.Path2D;
 import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -36,9 +40,14 @@ public class BoxElement implements DrawElement {
 	public static final String TOP_LEFT_POINT_ATTRIBUTE = "topLeft";
 	public static final String BOTTOM_RIGHT_POINT_ATTRIBUTE = "bottomRight";
 	private static final double MEASUREMENT_OFFSET_FACTOR = 5.0;
+	private static final int TOP_LEFT = 0;
+	private static final int BOTTOM_RIGHT = 1;
 
-	Point2D topLeft;
-	Point2D bottomRight;
+	private final Coordinates coordinates;
+	private final Rectangle2D bounds = new Rectangle2D.Double();
+	private final Path2D shape = new Path2D.Double();
+	private final MeasurementText widthText = new MeasurementText();
+	private final MeasurementText heightText = new MeasurementText();
 
 	@PointInitialiser(BoxElement.BOX_ELEMENT)
 	public BoxElement(final Point2D pos) {
@@ -51,8 +60,30 @@ public class BoxElement implements DrawElement {
 	 * @param bottomRight bottom right point
 	 */
 	public BoxElement(final Point2D topLeft, final Point2D bottomRight) {
-		this.topLeft = topLeft;
-		this.bottomRight = bottomRight;
+		this.coordinates = new Coordinates(topLeft, bottomRight);
+		updateGeometry();
+	}
+
+	private void updateGeometry() {
+		final double left = this.coordinates.getX(BoxElement.TOP_LEFT);
+		final double top = this.coordinates.getY(BoxElement.TOP_LEFT);
+		final double right = this.coordinates.getX(BoxElement.BOTTOM_RIGHT);
+		final double bottom = this.coordinates.getY(BoxElement.BOTTOM_RIGHT);
+		this.bounds.setFrameFromDiagonal(left, top, right, bottom);
+		this.shape.reset();
+		this.shape.moveTo(left, top);
+		this.shape.lineTo(right, top);
+		this.shape.lineTo(right, bottom);
+		this.shape.lineTo(left, bottom);
+		this.shape.closePath();
+	}
+
+	private Point2D topLeft() {
+		return this.coordinates.get(BoxElement.TOP_LEFT);
+	}
+
+	private Point2D bottomRight() {
+		return this.coordinates.get(BoxElement.BOTTOM_RIGHT);
 	}
 
 	/**
@@ -61,98 +92,88 @@ public class BoxElement implements DrawElement {
 	 */
 	@Override
 	public void draw(final Graphics2D g, final RenderState renderState) {
-		drawPrimitive(g);
+		g.draw(this.shape);
+		drawMeasurements(g, renderState);
+	}
+
+	@Override
+	public boolean isBatchable() {
+		return true;
+	}
+
+	@Override
+	public void drawMeasurements(final Graphics2D g, final RenderState renderState) {
 		if (renderState.measurementsEnabled()) {
 			StateUtils.pushPop(
-					(final Graphics2D g2d) -> drawMeasurements(g2d, renderState),
+					(final Graphics2D g2d) -> drawSideMeasurements(g2d, renderState),
 					g
 			);
 		}
 	}
 
-	private void drawPrimitive(final Graphics2D g) {
-		g.draw(new Line2D.Double(
-				this.topLeft,
-				new Point2D.Double(
-						this.bottomRight.getX(),
-						this.topLeft.getY()
-				)
-		));
-		g.draw(new Line2D.Double(
-				new Point2D.Double(
-						this.bottomRight.getX(),
-						this.topLeft.getY()
-				), this.bottomRight
-		));
-		g.draw(new Line2D.Double(
-				this.bottomRight,
-				new Point2D.Double(
-						this.topLeft.getX(),
-						this.bottomRight.getY()
-				)
-		));
-		g.draw(new Line2D.Double(
-				new Point2D.Double(
-						this.topLeft.getX(),
-						this.bottomRight.getY()
-				), this.topLeft
-		));
-	}
-
-	private void drawMeasurements(final Graphics2D g,
-								  final RenderState renderState) {
-		g.setStroke(Strokes.DASH_STROKE);
-		final double xOffset = (this.topLeft.getX() > this.bottomRight.getX() ? 1 : -1);
-		final double yOffset = (this.topLeft.getY() > this.bottomRight.getY() ? 1 : -1);
-		final Point2D[] verticalSide = new Point2D[]{
-				new Point2D.Double(
-						this.topLeft.getX() + (MEASUREMENT_OFFSET_FACTOR * xOffset),
-						this.bottomRight.getY()
-				),
-				PointUtils.add(
-						this.topLeft,
-						new Point2D.Double(MEASUREMENT_OFFSET_FACTOR * xOffset, 0)
-				)
-		};
-		final Point2D[] horizontalSide = new Point2D[]{
-				PointUtils.sub(
-						this.bottomRight,
-						new Point2D.Double(0, MEASUREMENT_OFFSET_FACTOR * yOffset)
-				),
-				new Point2D.Double(
-						this.topLeft.getX(),
-						this.bottomRight.getY() - (MEASUREMENT_OFFSET_FACTOR * yOffset)
-				)
-		};
-		g.draw(new Line2D.Double(verticalSide[0], verticalSide[1]));
-		g.draw(new Line2D.Double(horizontalSide[0], horizontalSide[1]));
-
-		final Point2D horizontalTextCentre = PointUtils.sub(
-				PointUtils.mid(horizontalSide[0], horizontalSide[1]),
-				new Point2D.Double(0, yOffset * MEASUREMENT_OFFSET_FACTOR * 1.5)
-		);
-		TextUtils.centredAt(
-				renderState.getFinalisedMeasurementString(Math.abs(horizontalSide[0].getX() - horizontalSide[1].getX())),
-				horizontalTextCentre,
-				g
-		);
+	private void drawSideMeasurements(final Graphics2D g,
+									  final RenderState renderState) {
+		final double left = this.coordinates.getX(BoxElement.TOP_LEFT);
+		final double top = this.coordinates.getY(BoxElement.TOP_LEFT);
+		final double right = this.coordinates.getX(BoxElement.BOTTOM_RIGHT);
+		final double bottom = this.coordinates.getY(BoxElement.BOTTOM_RIGHT);
+		final double scale = LevelOfDetail.viewScale(g);
+		final boolean measureWidth = LevelOfDetail.isMeasurable(scale, right - left);
+		final boolean measureHeight = LevelOfDetail.isMeasurable(scale, bottom - top);
+		if (!measureWidth && !measureHeight) {
+			return;
+		}
+		g.setStroke(Strokes.dashed(scale));
+		final double xOffset = (left > right ? 1 : -1);
+		final double yOffset = (top > bottom ? 1 : -1);
+		final double offset = MEASUREMENT_OFFSET_FACTOR / scale;
+		// Sides are drawn the same number of pixels from the box at any zoom, held as primitives as they are drawn for every box on every paint
+		final double verticalSideX = left + (offset * xOffset);
+		final double horizontalSideY = bottom - (offset * yOffset);
+		final Line2D side = new Line2D.Double();
+		if (measureWidth) {
+			side.setLine(right, horizontalSideY, left, horizontalSideY);
+			g.draw(side);
+			this.widthText.drawCentredAt(
+					Math.abs(right - left),
+					(right + left) / 2.0,
+					horizontalSideY - (yOffset * offset * 1.5),
+					g,
+					renderState
+			);
+		}
+		if (!measureHeight) {
+			return;
+		}
 
-		final Point2D verticalTextCentre = PointUtils.add(
-				PointUtils.mid(verticalSide[0], verticalSide[1]),
-				new Point2D.Double(xOffset * MEASUREMENT_OFFSET_FACTOR * 1.9, 0)
-		);
-		g.rotate(Math.toRadians(90 * xOffset), verticalTextCentre.getX(), verticalTextCentre.getY());
-		TextUtils.centredAt(
-				renderState.getFinalisedMeasurementString(Math.abs(verticalSide[0].getY() - verticalSide[1].getY())),
-				verticalTextCentre,
-				g
+		side.setLine(verticalSideX, bottom, verticalSideX, top);
+		g.draw(side);
+		final double verticalTextCentreX = verticalSideX + (xOffset * offset * 1.9);
+		final double verticalTextCentreY = (bottom + top) / 2.0;
+		g.rotate(Math.toRadians(90 * xOffset), verticalTextCentreX, verticalTextCentreY);
+		this.heightText.drawCentredAt(
+				Math.abs(bottom - top),
+				verticalTextCentreX,
+				verticalTextCentreY,
+				g,
+				renderState
 		);
 	}
 
 	@Override
 	public void applyTransform(final AffineTransform transform) {
-		this.topLeft = PointUtils.applyTransform(this.topLeft, transform);
-		this.bottomRight = PointUtils.applyTransform(this.bottomRight, transform);
+		this.coordinates.transform(transform);
+		updateGeometry();
+	}
+
+	@Override
+	public Coordinates coordinates() {
+		return this.coordinates;
+	}
+
+	@Override
+	public void coordinatesChanged() {
+		updateGeometry();
 	}
 
 	/**
@@ -161,15 +182,57 @@ public class BoxElement implements DrawElement {
 	 */
 	@Override
 	public List<Point2D> controlPoints() {
+		final Point2D topLeft = topLeft();
+		final Point2D bottomRight = bottomRight();
 		final List<Point2D> controlPoints = new ArrayList<>();
-		controlPoints.add(this.topLeft);
-		controlPoints.add(this.bottomRight);
-		controlPoints.add(new Point2D.Double(this.topLeft.getX(), this.bottomRight.getY()));
-		controlPoints.add(new Point2D.Double(this.bottomRight.getX(), this.topLeft.getY()));
-		controlPoints.add(PointUtils.mid(this.topLeft, this.bottomRight));
+		controlPoints.add(topLeft);
+		controlPoints.add(bottomRight);
+		controlPoints.add(new Point2D.Double(topLeft.getX(), bottomRight.getY()));
+		controlPoints.add(new Point2D.Double(bottomRight.getX(), topLeft.getY()));
+		controlPoints.add(PointUtils.mid(topLeft, bottomRight));
 		return controlPoints;
 	}
 
+	@Override
+	public Point2D controlPoint(final int control, final Point2D point) {
+		final double left = this.coordinates.getX(BoxElement.TOP_LEFT);
+		final double top = this.coordinates.getY(BoxElement.TOP_LEFT);
+		final double right = this.coordinates.getX(BoxElement.BOTTOM_RIGHT);
+		final double bottom = this.coordinates.getY(BoxElement.BOTTOM_RIGHT);
+		switch (control) {
+			case 0 -> point.setLocation(left, top);
+			case 1 -> point.setLocation(right, bottom);
+			case 2 -> point.setLocation(left, bottom);
+			case 3 -> point.setLocation(right, top);
+			case 4 -> point.setLocation((left + right) / 2.0, (top + bottom) / 2.0);
+			default -> throw new IndexOutOfBoundsException(control);
+		}
+		return point;
+	}
+
+	@Override
+	public List<Point2D> snapPoints() {
+		return controlPoints();
+	}
+
+	/**
+	 * Segments - the four edges of the box: top, right, bottom, left
+	 * @return list of the box edges.
+	 */
+	@Override
+	public List<Line2D> segments() {
+		final Point2D topLeft = topLeft();
+		final Point2D bottomRight = bottomRight();
+		final Point2D topRight = new Point2D.Double(bottomRight.getX(), topLeft.getY());
+		final Point2D bottomLeft = new Point2D.Double(topLeft.getX(), bottomRight.getY());
+		return List.of(
+				new Line2D.Double(topLeft, topRight),
+				new Line2D.Double(topRight, bottomRight),
+				new Line2D.Double(bottomRight, bottomLeft),
+				new Line2D.Double(bottomLeft, topLeft)
+		);
+	}
+
 	/**
 	 * Process moving of a control point.
 	 * @param control index to control point
@@ -178,20 +241,32 @@ public class BoxElement implements DrawElement {
 	@Override
 	public void moveControlPoint(final int control, final Point2D pos) {
 		if (control == 0)  // topleft
-			this.topLeft = pos;
+			this.coordinates.set(BoxElement.TOP_LEFT, pos);
 		else if (control == 1) // bottomright
-			this.bottomRight = pos;
+			this.coordinates.set(BoxElement.BOTTOM_RIGHT, pos);
 		else if (control == 2) { // bottomleft
-			this.bottomRight = new Point2D.Double(this.bottomRight.getX(), pos.getY());
-			this.topLeft = new Point2D.Double(pos.getX(), this.topLeft.getY());
+			this.coordinates.set(BoxElement.BOTTOM_RIGHT, this.coordinates.getX(BoxElement.BOTTOM_RIGHT), pos.getY());
+			this.coordinates.set(BoxElement.TOP_LEFT, pos.getX(), this.coordinates.getY(BoxElement.TOP_LEFT));
 		} else if (control == 3) { // topright
-			this.bottomRight = new Point2D.Double(pos.getX(), this.bottomRight.getY());
-			this.topLeft = new Point2D.Double(this.topLeft.getX(), pos.getY());
+			this.coordinates.set(BoxElement.BOTTOM_RIGHT, pos.getX(), this.coordinates.getY(BoxElement.BOTTOM_RIGHT));
+			this.coordinates.set(BoxElement.TOP_LEFT, this.coordinates.getX(BoxElement.TOP_LEFT), pos.getY());
 		} else if (control == 4) { // center
-			final Point2D vec = PointUtils.sub(pos, PointUtils.mid(this.topLeft, this.bottomRight));
-			this.topLeft = PointUtils.add(this.topLeft, vec);
-			this.bottomRight = PointUtils.add(this.bottomRight, vec);
+			this.coordinates.translate(
+					pos.getX() - ((this.coordinates.getX(BoxElement.TOP_LEFT) + this.coordinates.getX(BoxElement.BOTTOM_RIGHT)) / 2.0),
+					pos.getY() - ((this.coordinates.getY(BoxElement.TOP_LEFT) + this.coordinates.getY(BoxElement.BOTTOM_RIGHT)) / 2.0)
+			);
 		}
+		updateGeometry();
+	}
+
+	@Override
+	public Rectangle2D bounds() {
+		return this.bounds;
+	}
+
+	@Override
+	public Shape shape() {
+		return this.shape;
 	}
 
 	@Override
@@ -205,19 +280,21 @@ public class BoxElement implements DrawElement {
 	}
 
 	public boolean contains(final Point2D point) {
+		final Point2D topLeft = topLeft();
+		final Point2D bottomRight = bottomRight();
 		return new Rectangle(
-				(int) this.topLeft.getX(),
-				(int) this.topLeft.getY(),
-				(int) (this.bottomRight.getX() - this.topLeft.getX()),
-				(int) (this.bottomRight.getY() - this.topLeft.getY())
+				(int) topLeft.getX(),
+				(int) topLeft.getY(),
+				(int) (bottomRight.getX() - topLeft.getX()),
+				(int) (bottomRight.getY() - topLeft.getY())
 		).contains(point);
 	}
 
 	@Override
 	public void storeElement(final StoreFacade sf) {
 		sf.start(BoxElement.BOX_ELEMENT);
-		sf.addPoint(BoxElement.TOP_LEFT_POINT_ATTRIBUTE, this.topLeft);
-		sf.addPoint(BoxElement.BOTTOM_RIGHT_POINT_ATTRIBUTE, this.bottomRight);
+		sf.addPoint(BoxElement.TOP_LEFT_POINT_ATTRIBUTE, topLeft());
+		sf.addPoint(BoxElement.BOTTOM_RIGHT_POINT_ATTRIBUTE, bottomRight());
 	}
 
 	@FacadeLoadHandler(BoxElement.BOX_ELEMENT)
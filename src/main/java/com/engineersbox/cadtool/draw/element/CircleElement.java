@@ -1,20 +1,22 @@
 package com.engineersbox.cadtool.draw.element;
 
+import com.engineersbox.cadtool.draw.MeasurementText;
 import com.engineersbox.cadtool.draw.RenderState;
 import com.engineersbox.cadtool.draw.Strokes;
+import com.engineersbox.cadtool.draw.coordinate.Coordinates;
 import com.engineersbox.cadtool.draw.factory.FacadeLoadHandler;
 import com.engineersbox.cadtool.draw.factory.PointInitialiser;
+import com.engineersbox.cadtool.draw.render.LevelOfDetail;
 import com.engineersbox.cadtool.facade.LoadFacade;
 import com.engineersbox.cadtool.facade.StoreFacade;
-import com.engineersbox.cadtool.utils.PointUtils;
 import com.engineersbox.cadtool.utils.StateUtils;
-import com.engineersbox.cadtool.utils.TextUtils;
 
 import java.awt.*;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Ellipse2D;
 import java.awt.geom.Line2D;
 import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
 import java.util.List;
 
 @ElementMetadata(
@@ -29,10 +31,19 @@ public class CircleElement implements DrawElement {
     public static final String RADIUS_X_ATTRIBUTE = "radiusX";
     public static final String RADIUS_Y_ATTRIBUTE = "radiusY";
     private static final double MEASUREMENT_OFFSET_FACTOR = 5.0;
+    private static final int CENTRE = 0;
+    // The radii are held as the points at the end of each, so that they are transformed along with the centre
+    private static final int RADIUS_X = 1;
+    private static final int RADIUS_Y = 2;
 
-    private Point2D centre;
+    private final Coordinates coordinates;
     private double radiusX;
     private double radiusY;
+    private final Rectangle2D bounds = new Rectangle2D.Double();
+    private final Ellipse2D shape = new Ellipse2D.Double();
+    private final MeasurementText circumferenceText = new MeasurementText();
+    private final MeasurementText radiusXText = new MeasurementText();
+    private final MeasurementText radiusYText = new MeasurementText();
 
     @PointInitialiser(CircleElement.CIRCLE_ELEMENT)
     public CircleElement(final Point2D pos) {
@@ -42,22 +53,56 @@ public class CircleElement implements DrawElement {
     public CircleElement(final Point2D centre,
                          final double radiusX,
                          final double radiusY) {
-        this.centre = centre;
+        this.coordinates = new Coordinates(centre, centre, centre);
         this.radiusX = radiusX;
         this.radiusY = radiusY;
+        updateGeometry();
     }
 
-    @Override
-    public void draw(final Graphics2D g, final RenderState renderState) {
-        g.draw(new Ellipse2D.Double(
-                this.centre.getX() - this.radiusX,
-                this.centre.getY() - this.radiusY,
+    private Point2D centre() {
+        return this.coordinates.get(CircleElement.CENTRE);
+    }
+
+    private void updateGeometry() {
+        final double centreX = this.coordinates.getX(CircleElement.CENTRE);
+        final double centreY = this.coordinates.getY(CircleElement.CENTRE);
+        // The end of each radius is kept on its axis, where the next transform is measured from
+        this.coordinates.set(CircleElement.RADIUS_X, centreX + this.radiusX, centreY);
+        this.coordinates.set(CircleElement.RADIUS_Y, centreX, centreY + this.radiusY);
+        final double absRadiusX = Math.abs(this.radiusX);
+        final double absRadiusY = Math.abs(this.radiusY);
+        this.bounds.setRect(
+                centreX - absRadiusX,
+                centreY - absRadiusY,
+                absRadiusX * 2,
+                absRadiusY * 2
+        );
+        this.shape.setFrame(
+                centreX - this.radiusX,
+                centreY - this.radiusY,
                 this.radiusX * 2,
                 this.radiusY * 2
-        ));
-        if (renderState.measurementsEnabled()) {
+        );
+    }
+
+    @Override
+    public void draw(final Graphics2D g, final RenderState renderState) {
+        g.draw(this.shape);
+        drawMeasurements(g, renderState);
+    }
+
+    @Override
+    public boolean isBatchable() {
+        return true;
+    }
+
+    @Override
+    public void drawMeasurements(final Graphics2D g, final RenderState renderState) {
+        // Radius labels are placed along the radii, so are unreadable once either is short
+        if (renderState.measurementsEnabled()
+                && LevelOfDetail.isMeasurable(g, Math.min(Math.abs(this.radiusX), Math.abs(this.radiusY)))) {
             StateUtils.pushPop(
-                    (final Graphics2D g2d) -> drawMeasurements(g2d, renderState),
+                    (final Graphics2D g2d) -> drawRadiusMeasurements(g2d, renderState),
                     g
             );
         }
@@ -67,110 +112,142 @@ public class CircleElement implements DrawElement {
         return 2.0 * Math.PI * Math.sqrt((Math.pow(Math.abs(this.radiusX), 2.0)+ Math.pow(Math.abs(this.radiusY), 2.0)) / 2.0);
     }
 
-    private void drawMeasurements(final Graphics2D g, final RenderState renderState) {
-        g.setStroke(Strokes.DASH_STROKE);
-        final Point2D[] xRadiusPoints = new Point2D[]{
-                this.centre,
-                PointUtils.add(
-                        this.centre,
-                        new Point2D.Double(this.radiusX, 0)
-                )
-        };
-        final Point2D[] yRadiusPoints = new Point2D[]{
-                this.centre,
-                PointUtils.sub(
-                        this.centre,
-                        new Point2D.Double(0, this.radiusY + (MEASUREMENT_OFFSET_FACTOR * 3))
-                )
-        };
+    private void drawRadiusMeasurements(final Graphics2D g, final RenderState renderState) {
+        final double scale = LevelOfDetail.viewScale(g);
+        g.setStroke(Strokes.dashed(scale));
+        // Offset by the same number of pixels at any zoom
+        final double offset = MEASUREMENT_OFFSET_FACTOR / scale;
+        final double centreX = this.coordinates.getX(CircleElement.CENTRE);
+        final double centreY = this.coordinates.getY(CircleElement.CENTRE);
+        // End of the horizontal radius, and of the vertical radius extended to hold the circumference
+        final double radiusEndX = centreX + this.radiusX;
+        final double radiusEndY = centreY - (this.radiusY + (offset * 3));
         g.draw(new Ellipse2D.Double(
-                this.centre.getX() - this.radiusX - MEASUREMENT_OFFSET_FACTOR,
-                this.centre.getY() - this.radiusY - MEASUREMENT_OFFSET_FACTOR,
-                (this.radiusX + MEASUREMENT_OFFSET_FACTOR) * 2,
-                (this.radiusY + MEASUREMENT_OFFSET_FACTOR) * 2
+                centreX - this.radiusX - offset,
+                centreY - this.radiusY - offset,
+                (this.radiusX + offset) * 2,
+                (this.radiusY + offset) * 2
         ));
-        TextUtils.centredAt(
-                renderState.getFinalisedMeasurementString(circumfrence()),
-                yRadiusPoints[1],
-                g
+        this.circumferenceText.drawCentredAt(
+                circumfrence(),
+                centreX,
+                radiusEndY,
+                g,
+                renderState
         );
-        g.draw(new Line2D.Double(xRadiusPoints[0], xRadiusPoints[1]));
-        g.draw(new Line2D.Double(yRadiusPoints[0], yRadiusPoints[1]));
+        final Line2D radius = new Line2D.Double(centreX, centreY, radiusEndX, centreY);
+        g.draw(radius);
+        radius.setLine(centreX, centreY, centreX, radiusEndY);
+        g.draw(radius);
 
-        final Point2D horizontalTextCentre = PointUtils.add(
-                PointUtils.mid(xRadiusPoints[0], xRadiusPoints[1]),
-                new Point2D.Double(0, MEASUREMENT_OFFSET_FACTOR * 1.5)
-        );
-        TextUtils.centredAt(
-                renderState.getFinalisedMeasurementString(Math.abs(xRadiusPoints[0].getX() - xRadiusPoints[1].getX())),
-                horizontalTextCentre,
-                g
+        this.radiusXText.drawCentredAt(
+                Math.abs(this.radiusX),
+                (centreX + radiusEndX) / 2.0,
+                centreY + (offset * 1.5),
+                g,
+                renderState
         );
 
-        final Point2D verticalTextCentre = PointUtils.sub(
-                PointUtils.mid(yRadiusPoints[0], yRadiusPoints[1]),
-                new Point2D.Double(MEASUREMENT_OFFSET_FACTOR * 1.9, 0)
-        );
-        g.rotate(Math.toRadians(90), verticalTextCentre.getX(), verticalTextCentre.getY());
-        TextUtils.centredAt(
-                renderState.getFinalisedMeasurementString(Math.abs(yRadiusPoints[0].getY() - yRadiusPoints[1].getY())),
-                verticalTextCentre,
-                g
+        final double verticalTextCentreX = centreX - (offset * 1.9);
+        final double verticalTextCentreY = (centreY + radiusEndY) / 2.0;
+        g.rotate(Math.toRadians(90), verticalTextCentreX, verticalTextCentreY);
+        // The line is extended past the radius by a fixed number of pixels, so measure the radius itself
+        this.radiusYText.drawCentredAt(
+                Math.abs(this.radiusY),
+                verticalTextCentreX,
+                verticalTextCentreY,
+                g,
+                renderState
         );
     }
 
+    /**
+     * Take the radii from the ends of each after the coordinates have been transformed,
+     * as the distance each has moved along its own axis from the centre.
+     */
+    private void updateRadii() {
+        this.radiusX = this.coordinates.getX(CircleElement.RADIUS_X) - this.coordinates.getX(CircleElement.CENTRE);
+        this.radiusY = this.coordinates.getY(CircleElement.RADIUS_Y) - this.coordinates.getY(CircleElement.CENTRE);
+        updateGeometry();
+    }
+
     @Override
     public void applyTransform(final AffineTransform transform) {
-        final double previousX = this.centre.getX();
-        final double previousY = this.centre.getY();
-        this.centre = PointUtils.applyTransform(this.centre, transform);
-        this.radiusX = PointUtils.applyTransform(
-                new Point2D.Double(
-                        previousX + this.radiusX,
-                        previousY
-                ),
-                transform
-        ).getX() - this.centre.getX();
-        this.radiusY = PointUtils.applyTransform(
-                new Point2D.Double(
-                        previousX,
-                        previousY + this.radiusY
-                ),
-                transform
-        ).getY() - this.centre.getY();
+        this.coordinates.transform(transform);
+        updateRadii();
+    }
+
+    @Override
+    public Coordinates coordinates() {
+        return this.coordinates;
+    }
+
+    @Override
+    public void coordinatesChanged() {
+        updateRadii();
     }
 
     @Override
     public List<Point2D> controlPoints() {
+        final Point2D centre = centre();
         return List.of(
-                this.centre,
+                centre,
                 new Point2D.Double(
-                        this.centre.getX() + this.radiusX,
-                        this.centre.getY()
+                        centre.getX() + this.radiusX,
+                        centre.getY()
                 ),
                 new Point2D.Double(
-                        this.centre.getX(),
-                        this.centre.getY() - this.radiusY
+                        centre.getX(),
+                        centre.getY() - this.radiusY
                 )
         );
     }
 
+    @Override
+    public Point2D controlPoint(final int control, final Point2D point) {
+        final double centreX = this.coordinates.getX(CircleElement.CENTRE);
+        final double centreY = this.coordinates.getY(CircleElement.CENTRE);
+        switch (control) {
+            case 0 -> point.setLocation(centreX, centreY);
+            case 1 -> point.setLocation(centreX + this.radiusX, centreY);
+            case 2 -> point.setLocation(centreX, centreY - this.radiusY);
+            default -> throw new IndexOutOfBoundsException(control);
+        }
+        return point;
+    }
+
+    @Override
+    public List<Point2D> snapPoints() {
+        return controlPoints();
+    }
+
     @Override
     public void moveControlPoint(final int control, final Point2D pos) {
         if (control == 0) {
-            this.centre = pos;
+            this.coordinates.set(CircleElement.CENTRE, pos);
         } else if (control == 1) {
-            this.radiusX = this.centre.distance(pos);
+            this.radiusX = centre().distance(pos);
         } else if (control == 2) {
-            this.radiusY = this.centre.distance(pos);
+            this.radiusY = centre().distance(pos);
         }
+        updateGeometry();
+    }
+
+    @Override
+    public Rectangle2D bounds() {
+        return this.bounds;
+    }
+
+    @Override
+    public Shape shape() {
+        return this.shape;
     }
 
     @Override
     public boolean equals(final Object obj) {
         if (!(obj instanceof final CircleElement ce))
             return false;
-        return ce.centre.equals(this.centre)
+        return ce.centre().equals(centre())
                 && ce.radiusX == this.radiusX
                 && ce.radiusY == this.radiusY;
     }
@@ -178,7 +255,7 @@ public class CircleElement implements DrawElement {
     @Override
     public void storeElement(final StoreFacade sf) {
         sf.start(CircleElement.CIRCLE_ELEMENT);
-        sf.addPoint(CircleElement.CENTRE_ATTRIBUTE, this.centre);
+        sf.addPoint(CircleElement.CENTRE_ATTRIBUTE, centre());
         sf.addDouble(CircleElement.RADIUS_X_ATTRIBUTE, this.radiusX);
         sf.addDouble(CircleElement.RADIUS_Y_ATTRIBUTE, this.radiusY);
     }
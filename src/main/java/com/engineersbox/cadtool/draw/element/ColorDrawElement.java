@@ -38,6 +38,27 @@ public class ColorDrawElement extends DrawElementDecorator {
 		g.setColor(oldColor);
 	}
 
+	@Override
+	public void drawMeasurements(final Graphics2D g, final RenderState renderState) {
+		final Color oldColor = g.getColor();
+		g.setColor(this.color);
+		this.drawElement.drawMeasurements(g, renderState);
+		g.setColor(oldColor);
+	}
+
+	@Override
+	public Color color() {
+		return this.color;
+	}
+
+	@Override
+	public void drawSimplified(final Graphics2D g) {
+		final Color oldColor = g.getColor();
+		g.setColor(this.color);
+		this.drawElement.drawSimplified(g);
+		g.setColor(oldColor);
+	}
+
 	@Override
 	public void applyTransform(final AffineTransform transform) {
 		this.drawElement.applyTransform(transform);
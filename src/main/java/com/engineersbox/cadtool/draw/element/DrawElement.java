@@ -2,11 +2,15 @@ package com.engineersbox.cadtool.draw.element;
 
 import com.engineersbox.cadtool.Options;
 import com.engineersbox.cadtool.draw.RenderState;
+import com.engineersbox.cadtool.draw.coordinate.Coordinates;
+import com.engineersbox.cadtool.draw.render.LevelOfDetail;
 import com.engineersbox.cadtool.facade.StoreFacade;
 
 import java.awt.*;
 import java.awt.geom.AffineTransform;
+import java.awt.geom.Line2D;
 import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
 import java.util.List;
 
 /**
@@ -21,10 +25,114 @@ public interface DrawElement {
       */
      void draw(final Graphics2D g, final RenderState renderState);
 
+     /**
+      * Whether drawing the element only strokes its {@link #shape()} and draws its measurements,
+      * allowing its outline to be drawn in a batch with other elements of the same style.
+      */
+     default boolean isBatchable() {
+          return false;
+     }
+
+     /**
+      * Draw only the measurements of the element, for when its outline has been drawn in a batch.
+      */
+     default void drawMeasurements(final Graphics2D g, final RenderState renderState) {
+          // No measurements by default
+     }
+
+     /**
+      * Colour the element is drawn in.
+      * @return colour of the element, or null if drawn in the current colour of the context
+      */
+     default Color color() {
+          return null;
+     }
+
+     /**
+      * Draw the element when it is too small on screen for its detail to be made out.
+      */
+     default void drawSimplified(final Graphics2D g) {
+          LevelOfDetail.drawSimplified(g, bounds());
+     }
+
      void applyTransform(final AffineTransform transform);
 
+     /**
+      * Points the geometry of the element is defined by. A drawing moves these into its own
+      * {@link com.engineersbox.cadtool.draw.coordinate.CoordinateBuffer} when the element is
+      * added, so that the points of every element can be transformed in one pass.
+      * @return coordinates of the element, or null if its geometry is not held as coordinates,
+      * in which case it is transformed through {@link #applyTransform} instead
+      */
+     default Coordinates coordinates() {
+          return null;
+     }
+
+     /**
+      * Rebuild the geometry derived from the coordinates of the element, after they have been
+      * changed in place by the buffer holding them.
+      */
+     default void coordinatesChanged() {
+          // Nothing derived by default
+     }
+
      List<Point2D> controlPoints();
 
+     /**
+      * Position of a single control point, written into a given point so that it can be
+      * read without building the whole list of control points.
+      * @param control index to control point
+      * @param point point to write the position into
+      * @return the given point
+      */
+     default Point2D controlPoint(final int control, final Point2D point) {
+          point.setLocation(controlPoints().get(control));
+          return point;
+     }
+
+     /**
+      * Bounds of the element geometry, kept up to date as the element changes.
+      * The rectangle is owned by the element and must not be modified.
+      * @return bounding box of the element
+      */
+     Rectangle2D bounds();
+
+     /**
+      * Outline of the element geometry, rebuilt only when the element changes so that
+      * it can be drawn repeatedly without being recreated.
+      * The shape is owned by the element and must not be modified.
+      * @return outline of the element
+      */
+     Shape shape();
+
+     /**
+      * Outline of the element as stroked at a scale, which for curves need be no finer than
+      * can be seen at that scale. The shape must not be modified.
+      * @param scale Device pixels per unit of the drawing
+      * @return outline of the element
+      */
+     default Shape shape(final double scale) {
+          return shape();
+     }
+
+     /**
+      * Points of interest on the element that other points may snap to, such as
+      * end points, mid points and centroids.
+      * @return snap points of the element
+      */
+     default List<Point2D> snapPoints() {
+          return List.of();
+     }
+
+     /**
+      * Straight segments making up the outline of the element, used to find where
+      * elements cross one another. Curved geometry is not included.
+      * @return straight segments of the element
+      */
+     default List<Line2D> segments() {
+          return List.of();
+     }
+
      /**
       * Move a control point
       * @param control index to control point
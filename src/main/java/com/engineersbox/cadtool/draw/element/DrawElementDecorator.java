@@ -1,9 +1,12 @@
 package com.engineersbox.cadtool.draw.element;
 
 import com.engineersbox.cadtool.draw.RenderState;
+import com.engineersbox.cadtool.draw.coordinate.Coordinates;
 
 import java.awt.*;
+import java.awt.geom.Line2D;
 import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
 import java.util.List;
 
 /*
@@ -21,11 +24,71 @@ public abstract class DrawElementDecorator implements DrawElement {
 		this.drawElement.draw(g, renderState);
 	}
 
+	@Override
+	public void drawSimplified(final Graphics2D g) {
+		this.drawElement.drawSimplified(g);
+	}
+
+	@Override
+	public boolean isBatchable() {
+		return this.drawElement.isBatchable();
+	}
+
+	@Override
+	public void drawMeasurements(final Graphics2D g, final RenderState renderState) {
+		this.drawElement.drawMeasurements(g, renderState);
+	}
+
+	@Override
+	public Color color() {
+		return this.drawElement.color();
+	}
+
 	@Override
 	public List<Point2D> controlPoints() {
 		return this.drawElement.controlPoints();    // this can just pass through
 	}
 
+	@Override
+	public Point2D controlPoint(final int control, final Point2D point) {
+		return this.drawElement.controlPoint(control, point);
+	}
+
+	@Override
+	public List<Point2D> snapPoints() {
+		return this.drawElement.snapPoints();
+	}
+
+	@Override
+	public List<Line2D> segments() {
+		return this.drawElement.segments();
+	}
+
+	@Override
+	public Rectangle2D bounds() {
+		return this.drawElement.bounds();    // so can the bounds
+	}
+
+	@Override
+	public Shape shape() {
+		return this.drawElement.shape();
+	}
+
+	@Override
+	public Shape shape(final double scale) {
+		return this.drawElement.shape(scale);
+	}
+
+	@Override
+	public Coordinates coordinates() {
+		return this.drawElement.coordinates();
+	}
+
+	@Override
+	public void coordinatesChanged() {
+		this.drawElement.coordinatesChanged();
+	}
+
 	@Override
 	public void moveControlPoint(final int control, final Point2D pos) {
 		this.drawElement.moveControlPoint(control, pos); // this can also just pass through
@@ -8,4 +8,18 @@ package com.engineersbox.cadtool.draw.element;
  */
 public record ElementControlPoint(DrawElement element,
 								  int control) {
+
+	// Elements may define equality by value, but a control point always refers
+	// to one particular element instance, so compare and hash by identity
+	@Override
+	public boolean equals(final Object obj) {
+		return obj instanceof final ElementControlPoint other
+				&& other.element == this.element
+				&& other.control == this.control;
+	}
+
+	@Override
+	public int hashCode() {
+		return (31 * System.identityHashCode(this.element)) + this.control;
+	}
 }
@@ -1,15 +1,17 @@
 package com.engineersbox.cadtool.draw.element;
 
 import com.engineersbox.cadtool.draw.RenderState;
+import com.engineersbox.cadtool.draw.coordinate.Coordinates;
 import com.engineersbox.cadtool.draw.factory.FacadeLoadHandler;
 import com.engineersbox.cadtool.draw.factory.PointInitialiser;
 import com.engineersbox.cadtool.facade.LoadFacade;
 import com.engineersbox.cadtool.facade.StoreFacade;
-import com.engineersbox.cadtool.utils.PointUtils;
 
 import java.awt.*;
 import java.awt.geom.AffineTransform;
+import java.awt.geom.Path2D;
 import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
 import java.util.List;
 
 @ElementMetadata(
@@ -23,13 +25,17 @@ public class LabelElement implements DrawElement {
     public static final String TEXT_ATTRIBUTE = "text";
     public static final String LABEL_POINT_ATTRIBUTE = "labelPoint";
     public static final String LINE_TARGET_ATTRIBUTE = "lineTarget";
+    private static final int LINE_TARGET = 0;
+    private static final int LABEL_POINT = 1;
 
     private String text;
     private int textWidth;
     private int textHeight;
 
-    public Point2D labelPoint;
-    public Point2D lineTarget;
+    private final Coordinates coordinates;
+    private final Rectangle2D bounds = new Rectangle2D.Double();
+    private final Rectangle textBox = new Rectangle();
+    private final Path2D shape = new Path2D.Double();
 
     @PointInitialiser(LabelElement.LABEL_ELEMENT)
     public LabelElement(final Point2D pos) {
@@ -37,10 +43,48 @@ public class LabelElement implements DrawElement {
     }
 
     public LabelElement(final Point2D labelPoint, final Point2D lineTarget) {
-        this.labelPoint = labelPoint;
-        this.lineTarget = lineTarget;
+        this.coordinates = new Coordinates(lineTarget, labelPoint);
         this.textWidth = 0;
         this.textHeight = 0;
+        updateGeometry();
+    }
+
+    private Point2D labelPoint() {
+        return this.coordinates.get(LabelElement.LABEL_POINT);
+    }
+
+    private Point2D lineTarget() {
+        return this.coordinates.get(LabelElement.LINE_TARGET);
+    }
+
+    private void updateGeometry() {
+        final Point2D labelPoint = labelPoint();
+        final Point2D lineTarget = lineTarget();
+        this.bounds.setFrameFromDiagonal(labelPoint, lineTarget);
+        this.bounds.add(new Rectangle2D.Double(
+                labelPoint.getX() - (this.textWidth / 2.0),
+                labelPoint.getY() - (this.textHeight / 2.0),
+                this.textWidth,
+                this.textHeight
+        ));
+        this.textBox.setBounds(
+                (int) (labelPoint.getX() - (this.textWidth / 2.0)),
+                (int) (labelPoint.getY() - (this.textHeight / 2.0)),
+                this.textWidth,
+                this.textHeight
+        );
+        this.shape.reset();
+        if (this.text == null) {
+            this.shape.moveTo((int) labelPoint.getX(), (int) labelPoint.getY());
+            this.shape.lineTo((int) lineTarget.getX(), (int) lineTarget.getY());
+            return;
+        }
+        this.shape.append(this.textBox, false);
+        final Point2D closestSidePoint = findClosestSidePoint(this.textBox, lineTarget);
+        if (closestSidePoint != null) {
+            this.shape.moveTo((int) closestSidePoint.getX(), (int) closestSidePoint.getY());
+            this.shape.lineTo((int) lineTarget.getX(), (int) lineTarget.getY());
+        }
     }
 
     public void setText(final String text,
@@ -49,6 +93,7 @@ public class LabelElement implements DrawElement {
         this.text = text;
         this.textWidth = width;
         this.textHeight = height;
+        updateGeometry();
     }
 
     private Point2D findClosestSidePoint(final Rectangle rect,
@@ -104,81 +149,78 @@ public class LabelElement implements DrawElement {
     @Override
     public void draw(Graphics2D g, final RenderState renderState) {
         if (this.text == null) {
-            g.drawLine(
-                    (int) this.labelPoint.getX(),
-                    (int) this.labelPoint.getY(),
-                    (int) this.lineTarget.getX(),
-                    (int) this.lineTarget.getY()
-            );
+            g.draw(this.shape);
             return;
         }
         g.clearRect(
-                (int) (this.labelPoint.getX() - (textWidth / 2.0)),
-                (int) (this.labelPoint.getY() - (textHeight / 2.0)),
-                textWidth,
-                textHeight
-        );
-        g.drawRect(
-                (int) (this.labelPoint.getX() - (textWidth / 2.0)),
-                (int) (this.labelPoint.getY() - (textHeight / 2.0)),
-                textWidth,
-                textHeight
+                this.textBox.x,
+                this.textBox.y,
+                this.textBox.width,
+                this.textBox.height
         );
+        g.draw(this.shape);
         g.drawString(
                 this.text,
-                (int) (this.labelPoint.getX() - (textWidth / 2.0)),
-                (int) (this.labelPoint.getY() + (textHeight / 4.0))
-        );
-        final Point2D closestSidePoint = findClosestSidePoint(
-                new Rectangle(
-                        (int) (this.labelPoint.getX() - (textWidth / 2.0)),
-                        (int) (this.labelPoint.getY() - (textHeight / 2.0)),
-                        textWidth,
-                        textHeight
-
-                ),
-                this.lineTarget
-        );
-        if (closestSidePoint == null) {
-            return;
-        }
-        g.drawLine(
-                (int) closestSidePoint.getX(),
-                (int) closestSidePoint.getY(),
-                (int) this.lineTarget.getX(),
-                (int) this.lineTarget.getY()
+                this.textBox.x,
+                (int) (this.coordinates.getY(LabelElement.LABEL_POINT) + (textHeight / 4.0))
         );
     }
 
     @Override
     public void applyTransform(final AffineTransform transform) {
-        this.lineTarget = PointUtils.applyTransform(this.lineTarget, transform);
-        this.labelPoint = PointUtils.applyTransform(this.labelPoint, transform);
+        this.coordinates.transform(transform);
+        updateGeometry();
+    }
+
+    @Override
+    public Coordinates coordinates() {
+        return this.coordinates;
+    }
+
+    @Override
+    public void coordinatesChanged() {
+        updateGeometry();
+    }
+
+    @Override
+    public Rectangle2D bounds() {
+        return this.bounds;
+    }
+
+    @Override
+    public Shape shape() {
+        return this.shape;
     }
 
     @Override
     public List<Point2D> controlPoints() {
         return List.of(
-                this.lineTarget,
-                this.labelPoint
+                lineTarget(),
+                labelPoint()
         );
     }
 
+    @Override
+    public Point2D controlPoint(final int control, final Point2D point) {
+        return this.coordinates.get(control, point);
+    }
+
     @Override
     public void moveControlPoint(int control, Point2D pos) {
         if (control == 0) {
-            this.lineTarget = pos;
+            this.coordinates.set(LabelElement.LINE_TARGET, pos);
         } else if (control == 1) {
-            this.labelPoint = pos;
+            this.coordinates.set(LabelElement.LABEL_POINT, pos);
         }
+        updateGeometry();
     }
 
     @Override
     public void storeElement(StoreFacade sf) {
         sf.start(LabelElement.LABEL_ELEMENT);
         sf.addString(LabelElement.TEXT_ATTRIBUTE, this.text);
-        sf.addPoint(LabelElement.LABEL_POINT_ATTRIBUTE, this.labelPoint);
-        sf.addPoint(LabelElement.LINE_TARGET_ATTRIBUTE, this.lineTarget);
+        sf.addPoint(LabelElement.LABEL_POINT_ATTRIBUTE, labelPoint());
+        sf.addPoint(LabelElement.LINE_TARGET_ATTRIBUTE, lineTarget());
     }
 
     @FacadeLoadHandler(LabelElement.LABEL_ELEMENT)
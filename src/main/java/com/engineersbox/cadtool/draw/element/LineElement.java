@@ -1,7 +1,9 @@
 package com.engineersbox.cadtool.draw.element;
 
+import com.engineersbox.cadtool.draw.MeasurementText;
 import com.engineersbox.cadtool.draw.ParallelLineMeasurement;
 import com.engineersbox.cadtool.draw.RenderState;
+import com.engineersbox.cadtool.draw.coordinate.Coordinates;
 import com.engineersbox.cadtool.draw.factory.FacadeLoadHandler;
 import com.engineersbox.cadtool.draw.factory.PointInitialiser;
 import com.engineersbox.cadtool.facade.LoadFacade;
@@ -13,6 +15,7 @@ import java.awt.*;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Line2D;
 import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
 import java.util.List;
 
 /**
@@ -31,9 +34,13 @@ public class LineElement implements DrawElement {
 	public static final String LINE_ELEMENT = "LINE_ELEMENT";
 	public static final String START_ATTRIBUTE = "start";
 	public static final String END_ATTRIBUTE = "end";
+	private static final int START = 0;
+	private static final int END = 1;
 
-	public Point2D start;
-	public Point2D end;
+	private final Coordinates coordinates;
+	private final Rectangle2D bounds = new Rectangle2D.Double();
+	private final Line2D shape = new Line2D.Double();
+	private final MeasurementText measurementText = new MeasurementText();
 
 	@PointInitialiser(LineElement.LINE_ELEMENT)
 	public LineElement(final Point2D pos) {
@@ -41,71 +48,142 @@ public class LineElement implements DrawElement {
 	}
 
 	public LineElement(final Point2D s, final Point2D e) {
-		this.start = s;
-		this.end = e;
+		this.coordinates = new Coordinates(s, e);
+		updateGeometry();
+	}
+
+	private void updateGeometry() {
+		final double startX = this.coordinates.getX(LineElement.START);
+		final double startY = this.coordinates.getY(LineElement.START);
+		final double endX = this.coordinates.getX(LineElement.END);
+		final double endY = this.coordinates.getY(LineElement.END);
+		this.bounds.setFrameFromDiagonal(startX, startY, endX, endY);
+		this.shape.setLine(startX, startY, endX, endY);
+	}
+
+	public Point2D start() {
+		return this.coordinates.get(LineElement.START);
+	}
+
+	public Point2D end() {
+		return this.coordinates.get(LineElement.END);
 	}
 
 	@Override
 	public void draw(final Graphics2D g, final RenderState renderState) {
-		g.draw(new Line2D.Float(this.start, this.end));
-		if (renderState.measurementsEnabled()) {
-			StateUtils.pushPop(
-					(final Graphics2D g2d) -> drawMeasurements(g2d, renderState),
-					g
-			);
-		}
+		g.draw(this.shape);
+		drawMeasurements(g, renderState);
 	}
 
-	private void drawMeasurements(final Graphics2D g, final RenderState renderState) {
-		ParallelLineMeasurement.drawMeasurementLine(
-				this.start,
-				this.end,
-				g,
-				renderState
+	@Override
+	public boolean isBatchable() {
+		return true;
+	}
+
+	@Override
+	public void drawMeasurements(final Graphics2D g, final RenderState renderState) {
+		if (!renderState.measurementsEnabled()) {
+			return;
+		}
+		StateUtils.pushPop(
+				(final Graphics2D g2d) -> ParallelLineMeasurement.drawMeasurementLine(
+						start(),
+						end(),
+						this.measurementText,
+						g2d,
+						renderState
+				),
+				g
 		);
 	}
 
 	@Override
 	public void applyTransform(final AffineTransform transform) {
-		this.start = PointUtils.applyTransform(this.start, transform);
-		this.end = PointUtils.applyTransform(this.end, transform);
+		this.coordinates.transform(transform);
+		updateGeometry();
+	}
+
+	@Override
+	public Coordinates coordinates() {
+		return this.coordinates;
+	}
+
+	@Override
+	public void coordinatesChanged() {
+		updateGeometry();
 	}
 
 	// controlPoints - there is just: start, end, mid
 	@Override
 	public List<Point2D> controlPoints() {
+		final Point2D start = start();
+		final Point2D end = end();
 		return List.of(
-				this.start,
-				this.end,
-				PointUtils.mid(this.start, this.end)
+				start,
+				end,
+				PointUtils.mid(start, end)
 		);
 	}
 
+	@Override
+	public Point2D controlPoint(final int control, final Point2D point) {
+		if (control == 2) { // mid
+			point.setLocation(
+					(this.coordinates.getX(LineElement.START) + this.coordinates.getX(LineElement.END)) / 2.0,
+					(this.coordinates.getY(LineElement.START) + this.coordinates.getY(LineElement.END)) / 2.0
+			);
+			return point;
+		}
+		return this.coordinates.get(control, point);
+	}
+
+	@Override
+	public List<Point2D> snapPoints() {
+		return controlPoints();
+	}
+
+	@Override
+	public List<Line2D> segments() {
+		return List.of(new Line2D.Double(start(), end()));
+	}
+
 	@Override
 	public void moveControlPoint(final int control, final Point2D pos) {
 		if (control == 0) // start
-			this.start = pos;
+			this.coordinates.set(LineElement.START, pos);
 		else if (control == 1) // end
-			this.end = pos;
+			this.coordinates.set(LineElement.END, pos);
 		else if (control == 2) { // mid
-			final Point2D vec = PointUtils.sub(pos, PointUtils.mid(this.start, this.end));
-			this.start = PointUtils.add(this.start, vec);
-			this.end = PointUtils.add(this.end, vec);
+			this.coordinates.translate(
+					pos.getX() - ((this.coordinates.getX(LineElement.START) + this.coordinates.getX(LineElement.END)) / 2.0),
+					pos.getY() - ((this.coordinates.getY(LineElement.START) + this.coordinates.getY(LineElement.END)) / 2.0)
+			);
 		}
+		updateGeometry();
+	}
+
+	@Override
+	public Rectangle2D bounds() {
+		return this.bounds;
+	}
+
+	@Override
+	public Shape shape() {
+		return this.shape;
 	}
 
 	@Override
 	public boolean equals(final Object obj) {
 		if (!(obj instanceof final LineElement le))
 			return false;
-		return le.end.equals(this.end) && le.start.equals(this.start);
+		return le.coordinates.equals(this.coordinates);
 	}
 
 	@Override
 	public void storeElement(final StoreFacade sf) {
 		sf.start(LineElement.LINE_ELEMENT);
-		sf.addPoint(LineElement.START_ATTRIBUTE, this.start);
-		sf.addPoint(LineElement.END_ATTRIBUTE, this.end);
+		sf.addPoint(LineElement.START_ATTRIBUTE, start());
+		sf.addPoint(LineElement.END_ATTRIBUTE, end());
 	}
 
 	@FacadeLoadHandler(LineElement.LINE_ELEMENT)
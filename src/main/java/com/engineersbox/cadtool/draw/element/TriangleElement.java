@@ -1,19 +1,21 @@
 package com.engineersbox.cadtool.draw.element;
 
+import com.engineersbox.cadtool.draw.MeasurementText;
 import com.engineersbox.cadtool.draw.ParallelLineMeasurement;
 import com.engineersbox.cadtool.draw.RenderState;
+import com.engineersbox.cadtool.draw.coordinate.Coordinates;
 import com.engineersbox.cadtool.draw.factory.FacadeLoadHandler;
 import com.engineersbox.cadtool.draw.factory.PointInitialiser;
 import com.engineersbox.cadtool.facade.LoadFacade;
 import com.engineersbox.cadtool.facade.StoreFacade;
-import com.engineersbox.cadtool.utils.PointUtils;
 import com.engineersbox.cadtool.utils.StateUtils;
 
 import java.awt.*;
 import java.awt.geom.AffineTransform;
+import java.awt.geom.Line2D;
 import java.awt.geom.Path2D;
 import java.awt.geom.Point2D;
-import java.util.Arrays;
+import java.awt.geom.Rectangle2D;
 import java.util.List;
 import java.util.function.Consumer;
 
@@ -28,9 +30,16 @@ public class TriangleElement extends Path2D.Double implements DrawElement {
     public static final String POINT_A_ATTRIBUTE = "TRIANGLE_POINT_A";
     public static final String POINT_B_ATTRIBUTE = "TRIANGLE_POINT_B";
     public static final String POINT_C_ATTRIBUTE = "TRIANGLE_POINT_C";
+    // Centre is held after the three vertices
+    private static final int CENTRE = 3;
 
-    private Point2D centre;
-    private Point2D[] vertices;
+    private transient Coordinates coordinates;
+    private final Rectangle2D bounds = new Rectangle2D.Double();
+    private final transient MeasurementText[] measurementTexts = new MeasurementText[]{
+            new MeasurementText(),
+            new MeasurementText(),
+            new MeasurementText()
+    };
 
     @PointInitialiser(TriangleElement.TRIANGLE_ELEMENT)
     public TriangleElement(final Point2D pos) {
@@ -52,41 +61,66 @@ public class TriangleElement extends Path2D.Double implements DrawElement {
                         centre.getY() - radius
                 )
         );
-        this.centre = centre;
+        this.coordinates.set(TriangleElement.CENTRE, centre);
     }
 
     private TriangleElement(final Point2D a,
                             final Point2D b,
                             final Point2D c) {
-        this.vertices = new Point2D[]{a, b, c};
-        this.centre = calculateCentroid();
+        this.coordinates = new Coordinates(a, b, c, a);
+        updateCentroid();
+        updateGeometry();
     }
 
-    private Point2D calculateCentroid() {
-        return new Point2D.Double(
-                (this.vertices[0].getX() + this.vertices[1].getX() + this.vertices[2].getX()) / 3,
-                (this.vertices[0].getY() + this.vertices[1].getY() + this.vertices[2].getY()) / 3
+    private void updateGeometry() {
+        this.bounds.setFrameFromDiagonal(
+                this.coordinates.getX(0),
+                this.coordinates.getY(0),
+                this.coordinates.getX(0),
+                this.coordinates.getY(0)
+        );
+        this.bounds.add(this.coordinates.getX(1), this.coordinates.getY(1));
+        this.bounds.add(this.coordinates.getX(2), this.coordinates.getY(2));
+        super.reset();
+        super.moveTo(this.coordinates.getX(0), this.coordinates.getY(0));
+        super.lineTo(this.coordinates.getX(1), this.coordinates.getY(1));
+        super.lineTo(this.coordinates.getX(2), this.coordinates.getY(2));
+        super.closePath();
+    }
+
+    private void updateCentroid() {
+        this.coordinates.set(
+                TriangleElement.CENTRE,
+                (this.coordinates.getX(0) + this.coordinates.getX(1) + this.coordinates.getX(2)) / 3,
+                (this.coordinates.getY(0) + this.coordinates.getY(1) + this.coordinates.getY(2)) / 3
         );
     }
 
+    private Point2D vertex(final int index) {
+        return this.coordinates.get(index);
+    }
+
     @Override
     public void draw(final Graphics2D g, final RenderState renderState) {
-        super.reset();
-        super.moveTo(this.vertices[0].getX(), this.vertices[0].getY());
-        super.lineTo(this.vertices[1].getX(), this.vertices[1].getY());
-        super.lineTo(this.vertices[2].getX(), this.vertices[2].getY());
-        super.closePath();
         g.draw(this);
-        if (renderState.measurementsEnabled()) {
-            drawMeasurements(g, renderState);
-        }
+        drawMeasurements(g, renderState);
     }
 
-    private void drawMeasurements(final Graphics2D g, final RenderState renderState) {
+    @Override
+    public boolean isBatchable() {
+        return true;
+    }
+
+    @Override
+    public void drawMeasurements(final Graphics2D g, final RenderState renderState) {
+        if (!renderState.measurementsEnabled()) {
+            return;
+        }
         StateUtils.pushPop(
                 (final Graphics2D g2d) -> ParallelLineMeasurement.drawMeasurementLine(
-                        this.vertices[0],
-                        this.vertices[1],
+                        vertex(0),
+                        vertex(1),
+                        this.measurementTexts[0],
                         g2d,
                         renderState
                 ),
@@ -94,8 +128,9 @@ public class TriangleElement extends Path2D.Double implements DrawElement {
         );
         StateUtils.pushPop(
                 (final Graphics2D g2d) -> ParallelLineMeasurement.drawMeasurementLine(
-                        this.vertices[1],
-                        this.vertices[2],
+                        vertex(1),
+                        vertex(2),
+                        this.measurementTexts[1],
                         g2d,
                         renderState
                 ),
@@ -103,8 +138,9 @@ public class TriangleElement extends Path2D.Double implements DrawElement {
         );
         StateUtils.pushPop(
                 (final Graphics2D g2d) -> ParallelLineMeasurement.drawMeasurementLine(
-                        this.vertices[2],
-                        this.vertices[0],
+                        vertex(2),
+                        vertex(0),
+                        this.measurementTexts[2],
                         g2d,
                         renderState
                 ),
@@ -114,60 +150,96 @@ public class TriangleElement extends Path2D.Double implements DrawElement {
 
     @Override
     public void applyTransform(final AffineTransform transform) {
-        for (int i = 0; i < this.vertices.length; i++) {
-            this.vertices[i] = PointUtils.applyTransform(this.vertices[i], transform);
-        }
-        this.centre = calculateCentroid();
+        this.coordinates.transform(transform);
+        updateCentroid();
+        updateGeometry();
+    }
+
+    @Override
+    public Coordinates coordinates() {
+        return this.coordinates;
+    }
+
+    @Override
+    public void coordinatesChanged() {
+        updateCentroid();
+        updateGeometry();
+    }
+
+    @Override
+    public Rectangle2D bounds() {
+        return this.bounds;
+    }
+
+    @Override
+    public Shape shape() {
+        return this;
     }
 
     @Override
     public List<Point2D> controlPoints() {
+        return this.coordinates.toList();
+    }
+
+    @Override
+    public List<Point2D> snapPoints() {
+        return controlPoints();
+    }
+
+    @Override
+    public List<Line2D> segments() {
+        final Point2D a = vertex(0);
+        final Point2D b = vertex(1);
+        final Point2D c = vertex(2);
         return List.of(
-                this.vertices[0],
-                this.vertices[1],
-                this.vertices[2],
-                this.centre
+                new Line2D.Double(a, b),
+                new Line2D.Double(b, c),
+                new Line2D.Double(c, a)
         );
     }
 
     private final transient List<Consumer<Point2D>> controlPointMoveHandlers = List.of(
             (final Point2D pos) -> {
-                this.vertices[0] = pos;
-                this.centre = calculateCentroid();
+                this.coordinates.set(0, pos);
+                updateCentroid();
             },
             (final Point2D pos) -> {
-                this.vertices[1] = pos;
-                this.centre = calculateCentroid();
+                this.coordinates.set(1, pos);
+                updateCentroid();
             },
             (final Point2D pos) -> {
-                this.vertices[2] = pos;
-                this.centre = calculateCentroid();
+                this.coordinates.set(2, pos);
+                updateCentroid();
             },
             (final Point2D pos) -> {
-                final double dx = pos.getX() - this.centre.getX();
-                final double dy = pos.getY() - this.centre.getY();
-                Arrays.stream(this.vertices).forEach((final Point2D point) -> point.setLocation(
-                        point.getX() + dx,
-                        point.getY() + dy
-                ));
-                this.centre = calculateCentroid();
+                this.coordinates.translate(
+                        pos.getX() - this.coordinates.getX(TriangleElement.CENTRE),
+                        pos.getY() - this.coordinates.getY(TriangleElement.CENTRE)
+                );
+                updateCentroid();
             }
     );
 
+    @Override
+    public Point2D controlPoint(final int control, final Point2D point) {
+        return this.coordinates.get(control, point);
+    }
+
     @Override
     public void moveControlPoint(final int control, final Point2D pos) {
         if (control < 0 || control >= this.controlPointMoveHandlers.size()) {
             return;
         }
         this.controlPointMoveHandlers.get(control).accept(pos);
+        updateGeometry();
     }
 
     @Override
     public void storeElement(final StoreFacade sf) {
         sf.start(TriangleElement.TRIANGLE_ELEMENT);
-        sf.addPoint(TriangleElement.POINT_A_ATTRIBUTE, this.vertices[0]);
-        sf.addPoint(TriangleElement.POINT_B_ATTRIBUTE, this.vertices[1]);
-        sf.addPoint(TriangleElement.POINT_C_ATTRIBUTE, this.vertices[2]);
+        sf.addPoint(TriangleElement.POINT_A_ATTRIBUTE, vertex(0));
+        sf.addPoint(TriangleElement.POINT_B_ATTRIBUTE, vertex(1));
+        sf.addPoint(TriangleElement.POINT_C_ATTRIBUTE, vertex(2));
     }
 
     @FacadeLoadHandler(TriangleElement.TRIANGLE_ELEMENT)
@@ -1,10 +1,12 @@
 package com.engineersbox.cadtool.draw.element.spline;
 
+import com.engineersbox.cadtool.draw.MeasurementText;
 import com.engineersbox.cadtool.draw.RenderState;
+import com.engineersbox.cadtool.draw.coordinate.GeometryKernels;
 import com.engineersbox.cadtool.draw.path.Point2DPath;
+import com.engineersbox.cadtool.draw.render.LevelOfDetail;
 import com.engineersbox.cadtool.utils.OpenCLUtils;
 import com.engineersbox.cadtool.utils.PointUtils;
-import com.engineersbox.cadtool.utils.TextUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.jocl.Pointer;
 import org.jocl.Sizeof;
@@ -13,6 +15,7 @@ import org.jocl.cl_mem;
 
 import java.awt.*;
 import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
 
 import static org.jocl.CL.*;
 
@@ -23,6 +26,14 @@ public class BezierCurve {
     private final Point2D[] initialPoints;
     private final OpenCLParams openclParams;
     private final Point2D[] bezierPoints;
+    private final Point2DPath path;
+    // Computed on first use, possibly by several tile rendering threads at once
+    private volatile Flattening flattening;
+    private volatile double length;
+    private final MeasurementText lengthText;
+
+    private record Flattening(double scale, Shape shape) {
+    }
 
     public BezierCurve(final Point2D[] points,
                        final float smoothFactor,
@@ -32,6 +43,10 @@ public class BezierCurve {
         this.smoothFactor = smoothFactor;
         this.openclParams = openclParams;
         this.bezierPoints = useGpuAcceleration ? calculateControlPointsGPU() : calculateControlPointsCPU();
+        this.path = createPath();
+        this.flattening = null;
+        this.length = Double.NaN;
+        this.lengthText = new MeasurementText();
     }
 
     private Point2D[] calculateControlPointsGPU() {
@@ -151,49 +166,48 @@ public class BezierCurve {
      * @return Bezier control points
      */
     private Point2D[] calculateControlPointsCPU() {
-        final Point2D[] finalControlPoints = new Point2D[2 * (this.initialPoints.length - 2)];
-        for (int i = 0; i < 2 * (this.initialPoints.length - 2); i++) {
-            final int modi = i % 2;
-            final int index = (int) Math.floor(i / 2.0);
-            finalControlPoints[i] = calculateBezierPoint(
-                    this.initialPoints[index],
-                    this.initialPoints[index + 1],
-                    this.initialPoints[index + 2],
-                    this.initialPoints[index + (modi == 0 ? 0 : 2)],
-                    this.smoothFactor,
-                    modi == 0 ? 1 : -1
-            );
+        final int count = this.initialPoints.length;
+        final double[] xs = new double[count];
+        final double[] ys = new double[count];
+        for (int i = 0; i < count; i++) {
+            xs[i] = this.initialPoints[i].getX();
+            ys[i] = this.initialPoints[i].getY();
+        }
+        final double[] beforeXs = new double[count - 2];
+        final double[] beforeYs = new double[count - 2];
+        final double[] afterXs = new double[count - 2];
+        final double[] afterYs = new double[count - 2];
+        GeometryKernels.bezierControlPoints(xs, ys, count, this.smoothFactor, beforeXs, beforeYs, afterXs, afterYs);
+        final Point2D[] finalControlPoints = new Point2D[2 * (count - 2)];
+        for (int i = 0; i < count - 2; i++) {
+            finalControlPoints[i * 2] = new Point2D.Double(beforeXs[i], beforeYs[i]);
+            finalControlPoints[(i * 2) + 1] = new Point2D.Double(afterXs[i], afterYs[i]);
         }
         return finalControlPoints;
     }
 
-    private Point2D calculateBezierPoint(final Point2D a,
-                                         final Point2D b,
-                                         final Point2D c,
-                                         final Point2D projectionReferencePoint,
-                                         final double smoothFactor,
-                                         final int direction) {
-        double pointDiffACX = c.getX() - a.getX();
-        double pointDiffACY = c.getY() - a.getY();
-        double vecACLength = Math.sqrt(pointDiffACX * pointDiffACX + pointDiffACY * pointDiffACY);
-        pointDiffACX = (pointDiffACX / vecACLength) * direction;
-        pointDiffACY = (pointDiffACY / vecACLength) * direction;
-
-        double vecProjectionFactor = Math.abs((b.getX() - projectionReferencePoint.getX()) * pointDiffACX + (b.getY() - projectionReferencePoint.getY()) * pointDiffACY);
-        double projectedX = vecProjectionFactor * pointDiffACX;
-        double projectedY = vecProjectionFactor * pointDiffACY;
-
-        return new Point2D.Double(
-            b.getX() - smoothFactor * projectedX,
-            b.getY() - smoothFactor * projectedY
-        );
+    /**
+     * Bounds of the curve, taken as the bounds of its hull of interpolated and control points.
+     *
+     * @return Bounding box containing the curve
+     */
+    public Rectangle2D bounds() {
+        final Rectangle2D bounds = new Rectangle2D.Double();
+        bounds.setFrameFromDiagonal(this.initialPoints[0], this.initialPoints[0]);
+        for (final Point2D point : this.initialPoints) {
+            bounds.add(point);
+        }
+        for (final Point2D point : this.bezierPoints) {
+            bounds.add(point);
+        }
+        return bounds;
     }
 
-    public void draw(final Graphics2D g, final RenderState renderState) {
+    private Point2DPath createPath() {
+        final Point2DPath path = new Point2DPath();
         if (this.initialPoints.length < 3 || this.bezierPoints.length < 1) {
-            return;
+            return path;
         }
-        final Point2DPath path = new Point2DPath();
         path.moveTo(this.initialPoints[0]);
         path.quadTo(
                 this.bezierPoints[0],
@@ -212,8 +226,45 @@ public class BezierCurve {
                 this.bezierPoints[this.bezierPoints.length - 1],
                 this.initialPoints[this.initialPoints.length - 1]
         );
-        g.draw(path);
-        if (renderState.measurementsEnabled()) {
+        return path;
+    }
+
+    /**
+     * @return Path through the interpolated points, built once when the curve is created
+     */
+    public Shape shape() {
+        return this.path;
+    }
+
+    /**
+     * @param scale Device pixels per unit of the drawing
+     * @return Path through the interpolated points, flattened no finer than can be seen at the scale
+     */
+    public Shape shape(final double scale) {
+        // Only re-flattened when drawn at a different scale to last time
+        final Flattening current = this.flattening;
+        if (current != null && current.scale() == scale) {
+            return current.shape();
+        }
+        final Flattening flattened = new Flattening(scale, LevelOfDetail.flatten(this.path, scale));
+        this.flattening = flattened;
+        return flattened.shape();
+    }
+
+    public void draw(final Graphics2D g, final RenderState renderState) {
+        if (this.initialPoints.length < 3 || this.bezierPoints.length < 1) {
+            return;
+        }
+        g.draw(shape(LevelOfDetail.scale(g)));
+        drawMeasurements(g, renderState);
+    }
+
+    public void drawMeasurements(final Graphics2D g, final RenderState renderState) {
+        if (this.initialPoints.length < 3 || this.bezierPoints.length < 1) {
+            return;
+        }
+        final double scale = LevelOfDetail.viewScale(g);
+        if (renderState.measurementsEnabled() && isMeasurable(scale)) {
             // I didn't have enough time to get to this
             // with other assignments, thesis work, etc.
             // However, this computed value would have been
@@ -222,21 +273,29 @@ public class BezierCurve {
             // get a proper analytical solution that could
             // accurately create a parallel curve, so a label on the
             // initial point will have to do.
-            final double length = this.initialPoints.length < 4 ? 0 : length(
-                    this.initialPoints,
-                    0.05
-            );
-            TextUtils.centredAt(
-                    renderState.getFinalisedMeasurementString(length),
+            if (Double.isNaN(this.length)) {
+                this.length = this.initialPoints.length < 4 ? 0 : length(
+                        this.initialPoints,
+                        0.05
+                );
+            }
+            this.lengthText.drawCentredAt(
+                    this.length,
                     PointUtils.sub(
                             this.initialPoints[0],
-                            new Point2D.Double(5, 0)
+                            new Point2D.Double(5 / scale, 0)
                     ),
-                    g
+                    g,
+                    renderState
             );
         }
     }
 
+    private boolean isMeasurable(final double scale) {
+        final Rectangle2D bounds = bounds();
+        return LevelOfDetail.isMeasurable(scale, Math.max(bounds.getWidth(), bounds.getHeight()));
+    }
+
     private Pair<Point2D[], Point2D[]> bezierSplit(final Point2D[] points) {
         final Point2D[] left = new Point2D[4];
         Point2D[] right = new Point2D[4];
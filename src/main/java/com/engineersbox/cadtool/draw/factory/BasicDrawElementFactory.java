@@ -9,6 +9,7 @@ import org.reflections.scanners.Scanners;
 import org.reflections.util.ClasspathHelper;
 
 import java.awt.*;
+import java.awt.geom.Point2D;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
@@ -55,7 +56,7 @@ public class BasicDrawElementFactory implements DrawElementFactory {
 	}
 
 	@Override
-	public DrawElement createElementFromMousePress(final String toolCommand, final Color color, final Point pos) {
+	public DrawElement createElementFromMousePress(final String toolCommand, final Color color, final Point2D pos) {
 		DrawElement drawelement = null;
 		final Constructor<? extends DrawElement> constructor = POINT_INIT_CONSTRUCTORS.get(toolCommand);
 		if (constructor != null) {
@@ -5,9 +5,10 @@ import com.engineersbox.cadtool.toolbar.ToolBar;
 import com.engineersbox.cadtool.draw.element.DrawElement;
 
 import java.awt.*;
+import java.awt.geom.Point2D;
 
 public interface DrawElementFactory {
-	DrawElement createElementFromMousePress(final String toolcommand, final Color color, final Point pos);
+	DrawElement createElementFromMousePress(final String toolcommand, final Color color, final Point2D pos);
 	DrawElement createElementFromLoadFacade(final String name, final LoadFacade lf);
 	void addButtons(final ToolBar drawtool);
 }
@@ -0,0 +1,116 @@
+package com.engineersbox.cadtool.draw.index;
+
+import com.engineersbox.cadtool.draw.element.DrawElement;
+import com.engineersbox.cadtool.draw.element.ElementControlPoint;
+
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * <p>
+ *     ControlPointIndex - spatial index over the control points of every element in a drawing.
+ * </p>
+ * <p>
+ *     Control points are often derived (mid points, centroids, etc.) or mutated in place, so the
+ *     positions each element was indexed at are recorded alongside it. This allows the stale
+ *     entries to be located and removed when the element is re-indexed after a change.
+ * </p>
+ */
+public class ControlPointIndex implements ElementIndex {
+
+    /**
+     * Visitor for control points along with the position they are indexed at.
+     */
+    @FunctionalInterface
+    public interface PositionConsumer {
+        void accept(final double x, final double y, final ElementControlPoint controlPoint);
+    }
+
+    private record IndexedElement(double[] positions,
+                                  ElementControlPoint[] controls) {
+    }
+
+    private final PointQuadTree<ElementControlPoint> tree;
+    private final Map<DrawElement, IndexedElement> elements;
+
+    public ControlPointIndex() {
+        this.tree = new PointQuadTree<>();
+        this.elements = new IdentityHashMap<>();
+    }
+
+    @Override
+    public void insert(final DrawElement element) {
+        final List<Point2D> controlPoints = element.controlPoints();
+        final double[] positions = new double[controlPoints.size() * 2];
+        final ElementControlPoint[] controls = new ElementControlPoint[controlPoints.size()];
+        for (int i = 0; i < controls.length; i++) {
+            final Point2D point = controlPoints.get(i);
+            positions[i * 2] = point.getX();
+            positions[(i * 2) + 1] = point.getY();
+            controls[i] = new ElementControlPoint(element, i);
+            this.tree.insert(positions[i * 2], positions[(i * 2) + 1], controls[i]);
+        }
+        this.elements.put(element, new IndexedElement(positions, controls));
+    }
+
+    @Override
+    public boolean remove(final DrawElement element) {
+        final IndexedElement indexed = this.elements.remove(element);
+        if (indexed == null) {
+            return false;
+        }
+        for (int i = 0; i < indexed.controls().length; i++) {
+            this.tree.remove(
+                    indexed.positions()[i * 2],
+                    indexed.positions()[(i * 2) + 1],
+                    indexed.controls()[i]
+            );
+        }
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        this.tree.clear();
+        this.elements.clear();
+    }
+
+    public ElementControlPoint nearest(final Point2D point, final double radius) {
+        final PointQuadTree.Entry<ElementControlPoint> entry = this.tree.nearest(
+                point.getX(),
+                point.getY(),
+                radius,
+                (final ElementControlPoint controlPoint) -> true
+        );
+        return entry == null ? null : entry.value();
+    }
+
+    public void query(final Rectangle2D area, final Consumer<ElementControlPoint> consumer) {
+        this.tree.query(
+                area,
+                (final PointQuadTree.Entry<ElementControlPoint> entry) -> consumer.accept(entry.value())
+        );
+    }
+
+    /**
+     * Visit the control points within an area along with their positions, without needing
+     * to ask each element for its control points.
+     *
+     * @param area Area to search
+     * @param consumer Visitor for each control point found
+     */
+    public void queryPositions(final Rectangle2D area, final PositionConsumer consumer) {
+        this.tree.query(
+                area,
+                (final PointQuadTree.Entry<ElementControlPoint> entry) -> consumer.accept(
+                        entry.x(),
+                        entry.y(),
+                        entry.value()
+                )
+        );
+    }
+}
@@ -0,0 +1,116 @@
+package com.engineersbox.cadtool.draw.index;
+
+import com.engineersbox.cadtool.draw.element.DrawElement;
+
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ *     ElementBoundsIndex - R-tree over the bounds of every element in a drawing.
+ * </p>
+ * <p>
+ *     Each element is tagged with its position in the drawing order when indexed, so
+ *     that results can be handed back in the order they must be painted in.
+ * </p>
+ */
+public class ElementBoundsIndex implements ElementIndex {
+
+    private record IndexedElement(DrawElement element,
+                                  Rectangle2D bounds,
+                                  long order) {
+    }
+
+    private final RTree<IndexedElement> tree;
+    private final Map<DrawElement, IndexedElement> elements;
+    private long nextOrder;
+
+    public ElementBoundsIndex() {
+        this.tree = new RTree<>();
+        this.elements = new IdentityHashMap<>();
+        this.nextOrder = 0;
+    }
+
+    @Override
+    public void insert(final DrawElement element) {
+        insert(element, this.nextOrder++);
+    }
+
+    private void insert(final DrawElement element, final long order) {
+        final IndexedElement indexed = new IndexedElement(
+                element,
+                (Rectangle2D) element.bounds().clone(),
+                order
+        );
+        this.elements.put(element, indexed);
+        this.tree.insert(indexed.bounds(), indexed);
+    }
+
+    @Override
+    public boolean remove(final DrawElement element) {
+        final IndexedElement indexed = this.elements.remove(element);
+        if (indexed == null) {
+            return false;
+        }
+        this.tree.remove(indexed.bounds(), indexed);
+        return true;
+    }
+
+    @Override
+    public void update(final DrawElement element) {
+        final IndexedElement indexed = this.elements.remove(element);
+        if (indexed == null) {
+            return;
+        }
+        this.tree.remove(indexed.bounds(), indexed);
+        // Retain the drawing order of the element
+        insert(element, indexed.order());
+    }
+
+    @Override
+    public void clear() {
+        this.tree.clear();
+        this.elements.clear();
+        this.nextOrder = 0;
+    }
+
+    @Override
+    public void rebuild(final List<DrawElement> elements) {
+        this.elements.clear();
+        final List<Rectangle2D> bounds = new ArrayList<>(elements.size());
+        final List<IndexedElement> values = new ArrayList<>(elements.size());
+        for (int i = 0; i < elements.size(); i++) {
+            final DrawElement element = elements.get(i);
+            final IndexedElement indexed = new IndexedElement(
+                    element,
+                    (Rectangle2D) element.bounds().clone(),
+                    i
+            );
+            this.elements.put(element, indexed);
+            bounds.add(indexed.bounds());
+            values.add(indexed);
+        }
+        this.nextOrder = elements.size();
+        this.tree.bulkLoad(bounds, values);
+    }
+
+    /**
+     * Find the elements whose bounds intersect or touch the given area.
+     * @param area Area to search
+     * @return Matching elements, in drawing order
+     */
+    public List<DrawElement> query(final Rectangle2D area) {
+        final List<IndexedElement> found = new ArrayList<>();
+        this.tree.search(area, found::add);
+        found.sort(Comparator.comparingLong(IndexedElement::order));
+        final List<DrawElement> result = new ArrayList<>(found.size());
+        for (final IndexedElement indexed : found) {
+            result.add(indexed.element());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,43 @@
+package com.engineersbox.cadtool.draw.index;
+
+import com.engineersbox.cadtool.draw.element.DrawElement;
+
+import java.util.List;
+
+/**
+ * ElementIndex - a spatial structure derived from the elements of a drawing, which the
+ * drawing keeps in step as elements are added, removed and changed.
+ */
+public interface ElementIndex {
+
+    void insert(final DrawElement element);
+
+    /**
+     * Remove an element from the index
+     * @param element Element to remove
+     * @return Whether the element was present in the index
+     */
+    boolean remove(final DrawElement element);
+
+    /**
+     * Re-index an element after its geometry has changed. Elements
+     * not already present in the index are ignored.
+     * @param element Element to re-index
+     */
+    default void update(final DrawElement element) {
+        if (remove(element)) {
+            insert(element);
+        }
+    }
+
+    void clear();
+
+    /**
+     * Discard the index contents and rebuild it from the given elements, in drawing order.
+     * @param elements Elements of the drawing
+     */
+    default void rebuild(final List<DrawElement> elements) {
+        clear();
+        elements.forEach(this::insert);
+    }
+}
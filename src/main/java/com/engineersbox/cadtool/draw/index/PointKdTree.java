@@ -0,0 +1,261 @@
+package com.engineersbox.cadtool.draw.index;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * <p>
+ *     PointKdTree - a two dimensional kd-tree supporting incremental insertion and removal.
+ * </p>
+ * <p>
+ *     Balance is maintained in the manner of a scapegoat tree: when an insertion lands deeper
+ *     than a balanced tree of the same size would allow, the highest unbalanced subtree on the
+ *     insertion path is rebuilt around its medians. Removal marks entries as deleted, and the
+ *     tree is rebuilt in full once deleted entries outnumber live ones. Both keep the amortised
+ *     cost of updates logarithmic without rebuilding the whole tree on every change.
+ * </p>
+ *
+ * @param <T> Type of the value stored at each point
+ */
+public class PointKdTree<T> {
+
+    private static final double BALANCE_FACTOR = 0.7;
+    private static final double LOG_INVERSE_BALANCE_FACTOR = Math.log(1.0 / PointKdTree.BALANCE_FACTOR);
+
+    public static final class Entry<T> {
+
+        private final double x;
+        private final double y;
+        private final T value;
+        private Entry<T> left;
+        private Entry<T> right;
+        private int subtreeSize;
+        private boolean deleted;
+
+        private Entry(final double x, final double y, final T value) {
+            this.x = x;
+            this.y = y;
+            this.value = value;
+            this.left = null;
+            this.right = null;
+            this.subtreeSize = 1;
+            this.deleted = false;
+        }
+
+        public double getX() {
+            return this.x;
+        }
+
+        public double getY() {
+            return this.y;
+        }
+
+        public T getValue() {
+            return this.value;
+        }
+
+        private double coordinate(final int axis) {
+            return axis == 0 ? this.x : this.y;
+        }
+    }
+
+    private Entry<T> root;
+    private int liveCount;
+    private int deletedCount;
+
+    public PointKdTree() {
+        clear();
+    }
+
+    public void clear() {
+        this.root = null;
+        this.liveCount = 0;
+        this.deletedCount = 0;
+    }
+
+    public int size() {
+        return this.liveCount;
+    }
+
+    /**
+     * Insert a value at the given position.
+     *
+     * @param x X coordinate of the value
+     * @param y Y coordinate of the value
+     * @param value Value to store
+     * @return Handle to the stored entry, used to remove it again
+     */
+    public Entry<T> insert(final double x, final double y, final T value) {
+        final Entry<T> entry = new Entry<>(x, y, value);
+        this.liveCount++;
+        if (this.root == null) {
+            this.root = entry;
+            return entry;
+        }
+        final List<Entry<T>> path = new ArrayList<>();
+        Entry<T> node = this.root;
+        while (true) {
+            path.add(node);
+            node.subtreeSize++;
+            final int axis = (path.size() - 1) % 2;
+            if (entry.coordinate(axis) < node.coordinate(axis)) {
+                if (node.left == null) {
+                    node.left = entry;
+                    break;
+                }
+                node = node.left;
+            } else {
+                if (node.right == null) {
+                    node.right = entry;
+                    break;
+                }
+                node = node.right;
+            }
+        }
+        final double balancedDepth = Math.log(this.root.subtreeSize) / PointKdTree.LOG_INVERSE_BALANCE_FACTOR;
+        if (path.size() > balancedDepth + 1) {
+            rebalance(path, entry);
+        }
+        return entry;
+    }
+
+    private void rebalance(final List<Entry<T>> path, final Entry<T> inserted) {
+        Entry<T> child = inserted;
+        for (int depth = path.size() - 1; depth >= 0; depth--) {
+            final Entry<T> node = path.get(depth);
+            if (child.subtreeSize > PointKdTree.BALANCE_FACTOR * node.subtreeSize) {
+                replaceSubtree(path, depth, node);
+                return;
+            }
+            child = node;
+        }
+    }
+
+    private void replaceSubtree(final List<Entry<T>> path, final int depth, final Entry<T> subtree) {
+        final List<Entry<T>> live = new ArrayList<>(subtree.subtreeSize);
+        collectLive(subtree, live);
+        final int discarded = subtree.subtreeSize - live.size();
+        final Entry<T> rebuilt = build(live, 0, live.size(), depth);
+        if (depth == 0) {
+            this.root = rebuilt;
+        } else {
+            final Entry<T> parent = path.get(depth - 1);
+            if (parent.left == subtree) {
+                parent.left = rebuilt;
+            } else {
+                parent.right = rebuilt;
+            }
+            for (int i = 0; i < depth; i++) {
+                path.get(i).subtreeSize -= discarded;
+            }
+        }
+        this.deletedCount -= discarded;
+    }
+
+    private static <T> void collectLive(final Entry<T> node, final List<Entry<T>> into) {
+        if (node == null) {
+            return;
+        }
+        collectLive(node.left, into);
+        if (!node.deleted) {
+            into.add(node);
+        }
+        collectLive(node.right, into);
+    }
+
+    private static <T> Entry<T> build(final List<Entry<T>> entries,
+                                      final int from,
+                                      final int to,
+                                      final int depth) {
+        if (from >= to) {
+            return null;
+        }
+        final int axis = depth % 2;
+        entries.subList(from, to).sort(Comparator.comparingDouble((final Entry<T> entry) -> entry.coordinate(axis)));
+        final int median = (from + to) >>> 1;
+        final Entry<T> node = entries.get(median);
+        node.left = build(entries, from, median, depth + 1);
+        node.right = build(entries, median + 1, to, depth + 1);
+        node.subtreeSize = to - from;
+        return node;
+    }
+
+    /**
+     * Remove an entry previously returned by {@link PointKdTree#insert}.
+     *
+     * @param entry Entry to remove
+     */
+    public void remove(final Entry<T> entry) {
+        if (entry.deleted) {
+            return;
+        }
+        entry.deleted = true;
+        this.liveCount--;
+        this.deletedCount++;
+        if (this.deletedCount > this.liveCount) {
+            final List<Entry<T>> live = new ArrayList<>(this.liveCount);
+            collectLive(this.root, live);
+            this.root = build(live, 0, live.size(), 0);
+            this.deletedCount = 0;
+        }
+    }
+
+    /**
+     * Find the entry nearest to a position, strictly within a given radius.
+     *
+     * @param x X coordinate to search from
+     * @param y Y coordinate to search from
+     * @param radius Exclusive search radius
+     * @param filter Predicate values must satisfy to be considered
+     * @return Nearest matching entry, or null if none lie within the radius
+     */
+    public Entry<T> nearest(final double x,
+                            final double y,
+                            final double radius,
+                            final Predicate<T> filter) {
+        final NearestSearch<T> search = new NearestSearch<>(x, y, radius * radius, filter);
+        search.visit(this.root, 0);
+        return search.best;
+    }
+
+    private static final class NearestSearch<T> {
+
+        private final double[] point;
+        private final Predicate<T> filter;
+        private double bestDistanceSq;
+        private Entry<T> best;
+
+        private NearestSearch(final double x,
+                              final double y,
+                              final double radiusSq,
+                              final Predicate<T> filter) {
+            this.point = new double[]{x, y};
+            this.filter = filter;
+            this.bestDistanceSq = radiusSq;
+            this.best = null;
+        }
+
+        private void visit(final Entry<T> node, final int depth) {
+            if (node == null) {
+                return;
+            }
+            if (!node.deleted) {
+                final double dx = node.x - this.point[0];
+                final double dy = node.y - this.point[1];
+                final double distanceSq = (dx * dx) + (dy * dy);
+                if (distanceSq < this.bestDistanceSq && this.filter.test(node.value)) {
+                    this.bestDistanceSq = distanceSq;
+                    this.best = node;
+                }
+            }
+            final int axis = depth % 2;
+            final double split = this.point[axis] - node.coordinate(axis);
+            visit(split < 0 ? node.left : node.right, depth + 1);
+            if (split * split < this.bestDistanceSq) {
+                visit(split < 0 ? node.right : node.left, depth + 1);
+            }
+        }
+    }
+}
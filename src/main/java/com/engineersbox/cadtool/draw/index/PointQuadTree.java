@@ -0,0 +1,343 @@
+package com.engineersbox.cadtool.draw.index;
+
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * <p>
+ *     PointQuadTree - a region quad tree over two dimensional points. Space is partitioned into
+ *     square cells which split into quadrants once they hold more than {@link PointQuadTree#NODE_CAPACITY}
+ *     entries, and merge back together when removals bring them under it again.
+ * </p>
+ * <p>
+ *     The root cell grows outwards on demand, so the extent of the indexed space does not need to
+ *     be known ahead of time. Entries are removed by identity of the stored value, allowing callers
+ *     to re-index a value whose coordinates have changed by removing it at its old position and
+ *     inserting it at the new one.
+ * </p>
+ *
+ * @param <T> Type of the value stored at each point
+ */
+public class PointQuadTree<T> {
+
+    private static final int NODE_CAPACITY = 8;
+    private static final double INITIAL_CELL_SIZE = 1024.0;
+    private static final double MIN_CELL_SIZE = 1e-6;
+
+    public record Entry<T>(double x,
+                           double y,
+                           T value) {
+
+        public double distanceSq(final double px, final double py) {
+            final double dx = this.x - px;
+            final double dy = this.y - py;
+            return (dx * dx) + (dy * dy);
+        }
+    }
+
+    private static final class Node<T> {
+
+        private final double minX;
+        private final double minY;
+        private final double size;
+        private List<Entry<T>> entries;
+        private Node<T>[] children;
+        private int count;
+
+        private Node(final double minX, final double minY, final double size) {
+            this.minX = minX;
+            this.minY = minY;
+            this.size = size;
+            this.entries = new ArrayList<>();
+            this.children = null;
+            this.count = 0;
+        }
+
+        private boolean isLeaf() {
+            return this.children == null;
+        }
+
+        private boolean contains(final double x, final double y) {
+            return x >= this.minX && x < this.minX + this.size
+                    && y >= this.minY && y < this.minY + this.size;
+        }
+
+        private int quadrant(final double x, final double y) {
+            final double half = this.size / 2.0;
+            return (x >= this.minX + half ? 1 : 0) + (y >= this.minY + half ? 2 : 0);
+        }
+
+        private double distanceSq(final double x, final double y) {
+            final double dx = Math.max(0, Math.max(this.minX - x, x - (this.minX + this.size)));
+            final double dy = Math.max(0, Math.max(this.minY - y, y - (this.minY + this.size)));
+            return (dx * dx) + (dy * dy);
+        }
+
+        @SuppressWarnings("unchecked")
+        private void split() {
+            final double half = this.size / 2.0;
+            this.children = new Node[]{
+                    new Node<>(this.minX, this.minY, half),
+                    new Node<>(this.minX + half, this.minY, half),
+                    new Node<>(this.minX, this.minY + half, half),
+                    new Node<>(this.minX + half, this.minY + half, half)
+            };
+            if (this.entries == null) {
+                return;
+            }
+            for (final Entry<T> entry : this.entries) {
+                final Node<T> child = this.children[quadrant(entry.x(), entry.y())];
+                child.entries.add(entry);
+                child.count++;
+            }
+            this.entries = null;
+        }
+
+        private void merge() {
+            final List<Entry<T>> merged = new ArrayList<>(this.count);
+            collect(merged);
+            this.children = null;
+            this.entries = merged;
+        }
+
+        private void collect(final List<Entry<T>> into) {
+            if (isLeaf()) {
+                into.addAll(this.entries);
+                return;
+            }
+            for (final Node<T> child : this.children) {
+                child.collect(into);
+            }
+        }
+    }
+
+    private Node<T> root;
+    private int size;
+
+    public PointQuadTree() {
+        clear();
+    }
+
+    public void clear() {
+        this.root = null;
+        this.size = 0;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Insert a value at the given position. Non-finite positions cannot be
+     * partitioned and are ignored.
+     *
+     * @param x X coordinate of the value
+     * @param y Y coordinate of the value
+     * @param value Value to store
+     */
+    public void insert(final double x, final double y, final T value) {
+        if (!Double.isFinite(x) || !Double.isFinite(y)) {
+            return;
+        }
+        if (this.root == null) {
+            this.root = new Node<>(
+                    Math.floor(x / PointQuadTree.INITIAL_CELL_SIZE) * PointQuadTree.INITIAL_CELL_SIZE,
+                    Math.floor(y / PointQuadTree.INITIAL_CELL_SIZE) * PointQuadTree.INITIAL_CELL_SIZE,
+                    PointQuadTree.INITIAL_CELL_SIZE
+            );
+        }
+        while (!this.root.contains(x, y)) {
+            growRoot(x, y);
+        }
+        final Entry<T> entry = new Entry<>(x, y, value);
+        Node<T> node = this.root;
+        while (!node.isLeaf()) {
+            node.count++;
+            node = node.children[node.quadrant(x, y)];
+        }
+        node.count++;
+        node.entries.add(entry);
+        if (node.entries.size() > PointQuadTree.NODE_CAPACITY && node.size > PointQuadTree.MIN_CELL_SIZE) {
+            node.split();
+        }
+        this.size++;
+    }
+
+    private void growRoot(final double x, final double y) {
+        final Node<T> previous = this.root;
+        final Node<T> grown = new Node<>(
+                x < previous.minX ? previous.minX - previous.size : previous.minX,
+                y < previous.minY ? previous.minY - previous.size : previous.minY,
+                previous.size * 2.0
+        );
+        grown.split();
+        grown.children[grown.quadrant(previous.minX, previous.minY)] = previous;
+        grown.count = previous.count;
+        this.root = grown;
+    }
+
+    /**
+     * Remove a value previously inserted at the given position. Values are matched by identity.
+     *
+     * @param x X coordinate the value was inserted at
+     * @param y Y coordinate the value was inserted at
+     * @param value Value to remove
+     * @return Whether the value was found and removed
+     */
+    public boolean remove(final double x, final double y, final T value) {
+        if (this.root == null || !this.root.contains(x, y) || !remove(this.root, x, y, value)) {
+            return false;
+        }
+        this.size--;
+        return true;
+    }
+
+    private static <T> boolean remove(final Node<T> node,
+                                      final double x,
+                                      final double y,
+                                      final T value) {
+        if (node.isLeaf()) {
+            final List<Entry<T>> entries = node.entries;
+            for (int i = 0; i < entries.size(); i++) {
+                if (entries.get(i).value() != value) {
+                    continue;
+                }
+                final Entry<T> last = entries.remove(entries.size() - 1);
+                if (i < entries.size()) {
+                    entries.set(i, last);
+                }
+                node.count--;
+                return true;
+            }
+            return false;
+        }
+        if (!remove(node.children[node.quadrant(x, y)], x, y, value)) {
+            return false;
+        }
+        node.count--;
+        if (node.count <= PointQuadTree.NODE_CAPACITY) {
+            node.merge();
+        }
+        return true;
+    }
+
+    /**
+     * Visit every entry lying within the given area.
+     *
+     * @param area Area to search
+     * @param consumer Visitor for each entry found
+     */
+    public void query(final Rectangle2D area, final Consumer<Entry<T>> consumer) {
+        if (this.root != null) {
+            query(this.root, area, consumer);
+        }
+    }
+
+    private static <T> void query(final Node<T> node,
+                                  final Rectangle2D area,
+                                  final Consumer<Entry<T>> consumer) {
+        if (node.count == 0 || !area.intersects(node.minX, node.minY, node.size, node.size)) {
+            return;
+        }
+        if (node.isLeaf()) {
+            for (final Entry<T> entry : node.entries) {
+                if (area.contains(entry.x(), entry.y())) {
+                    consumer.accept(entry);
+                }
+            }
+            return;
+        }
+        for (final Node<T> child : node.children) {
+            query(child, area, consumer);
+        }
+    }
+
+    /**
+     * Visit every entry in the tree.
+     *
+     * @param consumer Visitor for each entry
+     */
+    public void forEach(final Consumer<Entry<T>> consumer) {
+        if (this.root != null) {
+            forEach(this.root, consumer);
+        }
+    }
+
+    private static <T> void forEach(final Node<T> node, final Consumer<Entry<T>> consumer) {
+        if (node.isLeaf()) {
+            node.entries.forEach(consumer);
+            return;
+        }
+        for (final Node<T> child : node.children) {
+            forEach(child, consumer);
+        }
+    }
+
+    /**
+     * Find the entry nearest to a position, strictly within a given radius.
+     *
+     * @param x X coordinate to search from
+     * @param y Y coordinate to search from
+     * @param radius Exclusive search radius
+     * @param filter Predicate values must satisfy to be considered
+     * @return Nearest matching entry, or null if none lie within the radius
+     */
+    public Entry<T> nearest(final double x,
+                            final double y,
+                            final double radius,
+                            final Predicate<T> filter) {
+        if (this.root == null) {
+            return null;
+        }
+        final NearestSearch<T> search = new NearestSearch<>(x, y, radius * radius, filter);
+        search.visit(this.root);
+        return search.best;
+    }
+
+    private static final class NearestSearch<T> {
+
+        private final double x;
+        private final double y;
+        private final Predicate<T> filter;
+        private double bestDistanceSq;
+        private Entry<T> best;
+
+        private NearestSearch(final double x,
+                              final double y,
+                              final double radiusSq,
+                              final Predicate<T> filter) {
+            this.x = x;
+            this.y = y;
+            this.filter = filter;
+            this.bestDistanceSq = radiusSq;
+            this.best = null;
+        }
+
+        private void visit(final Node<T> node) {
+            if (node.count == 0 || node.distanceSq(this.x, this.y) >= this.bestDistanceSq) {
+                return;
+            }
+            if (node.isLeaf()) {
+                for (final Entry<T> entry : node.entries) {
+                    final double distanceSq = entry.distanceSq(this.x, this.y);
+                    if (distanceSq < this.bestDistanceSq && this.filter.test(entry.value())) {
+                        this.bestDistanceSq = distanceSq;
+                        this.best = entry;
+                    }
+                }
+                return;
+            }
+            // Descend into the quadrant holding the point first so the radius shrinks early
+            final int closest = node.quadrant(this.x, this.y);
+            visit(node.children[closest]);
+            for (int i = 0; i < node.children.length; i++) {
+                if (i != closest) {
+                    visit(node.children[i]);
+                }
+            }
+        }
+    }
+}
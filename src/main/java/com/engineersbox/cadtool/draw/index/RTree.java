@@ -0,0 +1,419 @@
+package com.engineersbox.cadtool.draw.index;
+
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * <p>
+ *     RTree - a Guttman R-tree over axis aligned rectangles, using the quadratic split heuristic.
+ * </p>
+ * <p>
+ *     Rectangles are treated as closed, so degenerate bounds such as those of a horizontal or
+ *     vertical line are still found by searches touching them. Trees can also be bulk loaded with
+ *     the Sort-Tile-Recursive packing, which is considerably cheaper than repeated insertion when
+ *     every entry changes at once.
+ * </p>
+ *
+ * @param <T> Type of value stored with each rectangle
+ */
+public class RTree<T> {
+
+    private static final int MAX_ENTRIES = 16;
+    private static final int MIN_ENTRIES = 6;
+
+    private abstract static class Bounded {
+
+        protected double minX;
+        protected double minY;
+        protected double maxX;
+        protected double maxY;
+
+        protected double area() {
+            return (this.maxX - this.minX) * (this.maxY - this.minY);
+        }
+
+        protected double margin() {
+            return (this.maxX - this.minX) + (this.maxY - this.minY);
+        }
+
+        protected boolean intersects(final double minX,
+                                     final double minY,
+                                     final double maxX,
+                                     final double maxY) {
+            return this.minX <= maxX && this.maxX >= minX
+                    && this.minY <= maxY && this.maxY >= minY;
+        }
+
+        protected boolean contains(final Bounded other) {
+            return this.minX <= other.minX && this.maxX >= other.maxX
+                    && this.minY <= other.minY && this.maxY >= other.maxY;
+        }
+
+        protected double enlargement(final Bounded other) {
+            final double union = (Math.max(this.maxX, other.maxX) - Math.min(this.minX, other.minX))
+                    * (Math.max(this.maxY, other.maxY) - Math.min(this.minY, other.minY));
+            final double area = area();
+            // Bounds near the limits of a double overflow to infinite areas, which cannot grow any further
+            if (Double.isInfinite(union)) {
+                return Double.isInfinite(area) ? 0.0 : Double.POSITIVE_INFINITY;
+            }
+            return union - area;
+        }
+
+        protected double centreX() {
+            return (this.minX + this.maxX) / 2.0;
+        }
+
+        protected double centreY() {
+            return (this.minY + this.maxY) / 2.0;
+        }
+    }
+
+    private static final class Entry<T> extends Bounded {
+
+        private final T value;
+
+        private Entry(final Rectangle2D bounds, final T value) {
+            this.minX = bounds.getMinX();
+            this.minY = bounds.getMinY();
+            this.maxX = bounds.getMaxX();
+            this.maxY = bounds.getMaxY();
+            this.value = value;
+        }
+    }
+
+    private static final class Node extends Bounded {
+
+        private final boolean leaf;
+        private final List<Bounded> items;
+        private Node parent;
+
+        private Node(final boolean leaf) {
+            this.leaf = leaf;
+            this.items = new ArrayList<>(RTree.MAX_ENTRIES + 1);
+            this.parent = null;
+            resetBounds();
+        }
+
+        private void resetBounds() {
+            this.minX = Double.POSITIVE_INFINITY;
+            this.minY = Double.POSITIVE_INFINITY;
+            this.maxX = Double.NEGATIVE_INFINITY;
+            this.maxY = Double.NEGATIVE_INFINITY;
+        }
+
+        private void include(final Bounded item) {
+            this.minX = Math.min(this.minX, item.minX);
+            this.minY = Math.min(this.minY, item.minY);
+            this.maxX = Math.max(this.maxX, item.maxX);
+            this.maxY = Math.max(this.maxY, item.maxY);
+        }
+
+        private void recalculateBounds() {
+            resetBounds();
+            for (final Bounded item : this.items) {
+                include(item);
+            }
+        }
+
+        private void add(final Bounded item) {
+            this.items.add(item);
+            if (item instanceof Node child) {
+                child.parent = this;
+            }
+            include(item);
+        }
+    }
+
+    private Node root;
+    private int size;
+
+    public RTree() {
+        clear();
+    }
+
+    public void clear() {
+        this.root = new Node(true);
+        this.size = 0;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public void insert(final Rectangle2D bounds, final T value) {
+        insert(new Entry<>(bounds, value));
+        this.size++;
+    }
+
+    private void insert(final Entry<T> entry) {
+        Node node = this.root;
+        while (!node.leaf) {
+            node.include(entry);
+            node = chooseSubtree(node, entry);
+        }
+        node.add(entry);
+        Node overflowing = node;
+        while (overflowing != null && overflowing.items.size() > RTree.MAX_ENTRIES) {
+            final Node sibling = split(overflowing);
+            if (overflowing.parent == null) {
+                final Node grown = new Node(false);
+                grown.add(overflowing);
+                grown.add(sibling);
+                this.root = grown;
+                return;
+            }
+            overflowing.parent.add(sibling);
+            overflowing = overflowing.parent;
+        }
+    }
+
+    private static Node chooseSubtree(final Node node, final Bounded entry) {
+        Node best = null;
+        double bestEnlargement = Double.POSITIVE_INFINITY;
+        double bestArea = Double.POSITIVE_INFINITY;
+        for (final Bounded item : node.items) {
+            final Node child = (Node) item;
+            final double enlargement = child.enlargement(entry);
+            final double area = child.area();
+            if (enlargement < bestEnlargement || (enlargement == bestEnlargement && area < bestArea)) {
+                best = child;
+                bestEnlargement = enlargement;
+                bestArea = area;
+            }
+        }
+        // Only left unset when every comparison is with NaN, such as from bounds holding NaN
+        return best == null ? (Node) node.items.get(0) : best;
+    }
+
+    /**
+     * Split an overflowing node in two with Guttman's quadratic heuristic. The given
+     * node retains one group and the other is returned as a new, unattached sibling.
+     */
+    private static Node split(final Node node) {
+        final List<Bounded> remaining = new ArrayList<>(node.items);
+        int seedA = 0;
+        int seedB = 1;
+        double worstWaste = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < remaining.size(); i++) {
+            for (int j = i + 1; j < remaining.size(); j++) {
+                final Bounded a = remaining.get(i);
+                final Bounded b = remaining.get(j);
+                final double waste = a.enlargement(b) - b.area();
+                if (waste > worstWaste) {
+                    worstWaste = waste;
+                    seedA = i;
+                    seedB = j;
+                }
+            }
+        }
+        final Bounded firstSeed = remaining.get(seedA);
+        final Bounded secondSeed = remaining.get(seedB);
+        remaining.remove(seedB);
+        remaining.remove(seedA);
+
+        node.items.clear();
+        node.resetBounds();
+        node.add(firstSeed);
+        final Node sibling = new Node(node.leaf);
+        sibling.add(secondSeed);
+
+        while (!remaining.isEmpty()) {
+            if (node.items.size() + remaining.size() == RTree.MIN_ENTRIES) {
+                remaining.forEach(node::add);
+                break;
+            } else if (sibling.items.size() + remaining.size() == RTree.MIN_ENTRIES) {
+                remaining.forEach(sibling::add);
+                break;
+            }
+            int nextIndex = 0;
+            double greatestPreference = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < remaining.size(); i++) {
+                final double preference = Math.abs(
+                        node.enlargement(remaining.get(i)) - sibling.enlargement(remaining.get(i))
+                );
+                if (preference > greatestPreference) {
+                    greatestPreference = preference;
+                    nextIndex = i;
+                }
+            }
+            final Bounded next = remaining.remove(nextIndex);
+            preferredGroup(node, sibling, next).add(next);
+        }
+        return sibling;
+    }
+
+    private static Node preferredGroup(final Node a, final Node b, final Bounded item) {
+        final double enlargementA = a.enlargement(item);
+        final double enlargementB = b.enlargement(item);
+        if (enlargementA != enlargementB) {
+            return enlargementA < enlargementB ? a : b;
+        } else if (a.area() != b.area()) {
+            return a.area() < b.area() ? a : b;
+        } else if (a.margin() != b.margin()) {
+            return a.margin() < b.margin() ? a : b;
+        }
+        return a.items.size() <= b.items.size() ? a : b;
+    }
+
+    /**
+     * Remove a value previously inserted with the given bounds. Values are matched by identity.
+     *
+     * @param bounds Bounds the value was inserted with
+     * @param value Value to remove
+     * @return Whether the value was found and removed
+     */
+    public boolean remove(final Rectangle2D bounds, final T value) {
+        final Entry<T> probe = new Entry<>(bounds, value);
+        final Node leaf = findLeaf(this.root, probe);
+        if (leaf == null) {
+            return false;
+        }
+        leaf.items.removeIf((final Bounded item) -> ((Entry<?>) item).value == value);
+        this.size--;
+        condense(leaf);
+        return true;
+    }
+
+    private static Node findLeaf(final Node node, final Entry<?> probe) {
+        if (!node.contains(probe)) {
+            return null;
+        }
+        if (node.leaf) {
+            for (final Bounded item : node.items) {
+                if (((Entry<?>) item).value == probe.value) {
+                    return node;
+                }
+            }
+            return null;
+        }
+        for (final Bounded item : node.items) {
+            final Node found = findLeaf((Node) item, probe);
+            if (found != null) {
+                return found;
+            }
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void condense(final Node leaf) {
+        final List<Entry<T>> orphans = new ArrayList<>();
+        Node node = leaf;
+        while (node.parent != null) {
+            final Node parent = node.parent;
+            if (node.items.size() < RTree.MIN_ENTRIES) {
+                parent.items.remove(node);
+                collectEntries(node, orphans);
+            } else {
+                node.recalculateBounds();
+            }
+            node = parent;
+        }
+        this.root.recalculateBounds();
+        while (!this.root.leaf && this.root.items.size() == 1) {
+            this.root = (Node) this.root.items.get(0);
+            this.root.parent = null;
+        }
+        if (!this.root.leaf && this.root.items.isEmpty()) {
+            this.root = new Node(true);
+        }
+        for (final Entry<T> orphan : orphans) {
+            insert(orphan);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void collectEntries(final Node node, final List<Entry<T>> into) {
+        for (final Bounded item : node.items) {
+            if (node.leaf) {
+                into.add((Entry<T>) item);
+            } else {
+                collectEntries((Node) item, into);
+            }
+        }
+    }
+
+    /**
+     * Visit every value whose bounds intersect or touch the given area.
+     *
+     * @param area Area to search
+     * @param consumer Visitor for each value found
+     */
+    public void search(final Rectangle2D area, final Consumer<T> consumer) {
+        search(
+                this.root,
+                area.getMinX(),
+                area.getMinY(),
+                area.getMaxX(),
+                area.getMaxY(),
+                consumer
+        );
+    }
+
+    @SuppressWarnings("unchecked")
+    private void search(final Node node,
+                        final double minX,
+                        final double minY,
+                        final double maxX,
+                        final double maxY,
+                        final Consumer<T> consumer) {
+        for (final Bounded item : node.items) {
+            if (!item.intersects(minX, minY, maxX, maxY)) {
+                continue;
+            }
+            if (node.leaf) {
+                consumer.accept(((Entry<T>) item).value);
+            } else {
+                search((Node) item, minX, minY, maxX, maxY, consumer);
+            }
+        }
+    }
+
+    /**
+     * Replace the contents of the tree by packing the given values with the
+     * Sort-Tile-Recursive algorithm.
+     *
+     * @param bounds Bounds of each value, in the same order as the values
+     * @param values Values to load
+     */
+    public void bulkLoad(final List<Rectangle2D> bounds, final List<T> values) {
+        List<Bounded> level = new ArrayList<>(values.size());
+        for (int i = 0; i < values.size(); i++) {
+            level.add(new Entry<>(bounds.get(i), values.get(i)));
+        }
+        this.size = values.size();
+        if (level.isEmpty()) {
+            this.root = new Node(true);
+            return;
+        }
+        boolean leaf = true;
+        do {
+            level = packLevel(level, leaf);
+            leaf = false;
+        } while (level.size() > 1);
+        this.root = (Node) level.get(0);
+        this.root.parent = null;
+    }
+
+    private static List<Bounded> packLevel(final List<Bounded> items, final boolean leaf) {
+        final int nodeCount = (int) Math.ceil(items.size() / (double) RTree.MAX_ENTRIES);
+        final int sliceCount = (int) Math.ceil(Math.sqrt(nodeCount));
+        final int sliceSize = sliceCount * RTree.MAX_ENTRIES;
+        items.sort(Comparator.comparingDouble(Bounded::centreX));
+        final List<Bounded> packed = new ArrayList<>(nodeCount);
+        for (int sliceStart = 0; sliceStart < items.size(); sliceStart += sliceSize) {
+            final List<Bounded> slice = items.subList(sliceStart, Math.min(sliceStart + sliceSize, items.size()));
+            slice.sort(Comparator.comparingDouble(Bounded::centreY));
+            for (int nodeStart = 0; nodeStart < slice.size(); nodeStart += RTree.MAX_ENTRIES) {
+                final Node node = new Node(leaf);
+                slice.subList(nodeStart, Math.min(nodeStart + RTree.MAX_ENTRIES, slice.size())).forEach(node::add);
+                packed.add(node);
+            }
+        }
+        return packed;
+    }
+}
@@ -0,0 +1,16 @@
+package com.engineersbox.cadtool.draw.intersection;
+
+import com.engineersbox.cadtool.draw.element.DrawElement;
+
+/**
+ * Intersection - a point at which straight segments of two different elements meet.
+ */
+public record Intersection(double x,
+                           double y,
+                           DrawElement first,
+                           DrawElement second) {
+
+    public boolean involves(final DrawElement element) {
+        return this.first == element || this.second == element;
+    }
+}
@@ -0,0 +1,214 @@
+package com.engineersbox.cadtool.draw.intersection;
+
+import com.engineersbox.cadtool.draw.element.DrawElement;
+import com.engineersbox.cadtool.draw.index.ElementIndex;
+import com.engineersbox.cadtool.draw.index.PointQuadTree;
+import com.engineersbox.cadtool.draw.index.RTree;
+
+import java.awt.geom.Line2D;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ *     IntersectionIndex - maintains the points at which the straight segments of different
+ *     elements cross or touch.
+ * </p>
+ * <p>
+ *     Intersections are found with a {@link SweepLine} and are resolved lazily. Changes to the
+ *     drawing only mark the area they affect as dirty, and the next query re-sweeps just the
+ *     segments passing through the dirty regions, replacing the intersections held there. A
+ *     full sweep is only needed after the whole drawing has been rebuilt.
+ * </p>
+ */
+public class IntersectionIndex implements ElementIndex {
+
+    private static final double DIRTY_MARGIN = 1.0;
+    private static final int MAX_DIRTY_REGIONS = 16;
+
+    private final RTree<Segment> segments;
+    private final Map<DrawElement, List<Segment>> elements;
+    private final PointQuadTree<Intersection> intersections;
+    private final List<Rectangle2D> dirtyRegions;
+    private boolean fullyDirty;
+    private int nextSegmentId;
+
+    public IntersectionIndex() {
+        this.segments = new RTree<>();
+        this.elements = new IdentityHashMap<>();
+        this.intersections = new PointQuadTree<>();
+        this.dirtyRegions = new ArrayList<>();
+        clear();
+    }
+
+    @Override
+    public void insert(final DrawElement element) {
+        final List<Segment> elementSegments = createSegments(element);
+        for (final Segment segment : elementSegments) {
+            final Rectangle2D bounds = segment.bounds();
+            this.segments.insert(bounds, segment);
+            markDirty(bounds);
+        }
+        this.elements.put(element, elementSegments);
+    }
+
+    @Override
+    public boolean remove(final DrawElement element) {
+        final List<Segment> elementSegments = this.elements.remove(element);
+        if (elementSegments == null) {
+            return false;
+        }
+        for (final Segment segment : elementSegments) {
+            final Rectangle2D bounds = segment.bounds();
+            this.segments.remove(bounds, segment);
+            markDirty(bounds);
+        }
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        this.segments.clear();
+        this.elements.clear();
+        this.intersections.clear();
+        this.dirtyRegions.clear();
+        this.fullyDirty = false;
+        this.nextSegmentId = 0;
+    }
+
+    @Override
+    public void rebuild(final List<DrawElement> elements) {
+        clear();
+        final List<Rectangle2D> bounds = new ArrayList<>();
+        final List<Segment> values = new ArrayList<>();
+        for (final DrawElement element : elements) {
+            final List<Segment> elementSegments = createSegments(element);
+            for (final Segment segment : elementSegments) {
+                bounds.add(segment.bounds());
+                values.add(segment);
+            }
+            this.elements.put(element, elementSegments);
+        }
+        this.segments.bulkLoad(bounds, values);
+        this.fullyDirty = true;
+    }
+
+    private List<Segment> createSegments(final DrawElement element) {
+        final List<Line2D> lines = element.segments();
+        final List<Segment> elementSegments = new ArrayList<>(lines.size());
+        for (final Line2D line : lines) {
+            final Segment segment = new Segment(line, element, this.nextSegmentId++);
+            if (!segment.isDegenerate()
+                    && Double.isFinite(segment.x1) && Double.isFinite(segment.y1)
+                    && Double.isFinite(segment.x2) && Double.isFinite(segment.y2)) {
+                elementSegments.add(segment);
+            }
+        }
+        return elementSegments;
+    }
+
+    private void markDirty(final Rectangle2D bounds) {
+        if (this.fullyDirty) {
+            return;
+        }
+        final Rectangle2D region = new Rectangle2D.Double(
+                bounds.getX() - IntersectionIndex.DIRTY_MARGIN,
+                bounds.getY() - IntersectionIndex.DIRTY_MARGIN,
+                bounds.getWidth() + (IntersectionIndex.DIRTY_MARGIN * 2),
+                bounds.getHeight() + (IntersectionIndex.DIRTY_MARGIN * 2)
+        );
+        for (final Rectangle2D dirty : this.dirtyRegions) {
+            if (dirty.intersects(region)) {
+                dirty.add(region);
+                return;
+            }
+        }
+        if (this.dirtyRegions.size() < IntersectionIndex.MAX_DIRTY_REGIONS) {
+            this.dirtyRegions.add(region);
+            return;
+        }
+        // Too many scattered edits to track separately, sweep their combined area instead
+        final Rectangle2D combined = this.dirtyRegions.get(0);
+        this.dirtyRegions.forEach(combined::add);
+        combined.add(region);
+        this.dirtyRegions.clear();
+        this.dirtyRegions.add(combined);
+    }
+
+    private void resolve() {
+        if (this.fullyDirty) {
+            final List<Segment> all = new ArrayList<>(this.segments.size());
+            this.elements.values().forEach(all::addAll);
+            SweepLine.sweep(
+                    all,
+                    (final Intersection intersection) -> this.intersections.insert(
+                            intersection.x(),
+                            intersection.y(),
+                            intersection
+                    )
+            );
+            this.fullyDirty = false;
+            this.dirtyRegions.clear();
+            return;
+        }
+        for (final Rectangle2D region : this.dirtyRegions) {
+            resolve(region);
+        }
+        this.dirtyRegions.clear();
+    }
+
+    private void resolve(final Rectangle2D region) {
+        final List<PointQuadTree.Entry<Intersection>> stale = new ArrayList<>();
+        this.intersections.query(region, stale::add);
+        for (final PointQuadTree.Entry<Intersection> entry : stale) {
+            this.intersections.remove(entry.x(), entry.y(), entry.value());
+        }
+        final List<Segment> local = new ArrayList<>();
+        this.segments.search(region, local::add);
+        SweepLine.sweep(
+                local,
+                (final Intersection intersection) -> {
+                    // Intersections outside the region were untouched by the change and are still held
+                    if (region.contains(intersection.x(), intersection.y())) {
+                        this.intersections.insert(intersection.x(), intersection.y(), intersection);
+                    }
+                }
+        );
+    }
+
+    /**
+     * Find the intersection nearest to a position, strictly within a given radius.
+     *
+     * @param point Position to search from
+     * @param radius Exclusive search radius
+     * @param exclude Element whose intersections are ignored. May be null.
+     * @return Nearest intersection, or null if none lie within the radius
+     */
+    public Intersection nearest(final Point2D point, final double radius, final DrawElement exclude) {
+        resolve();
+        final PointQuadTree.Entry<Intersection> entry = this.intersections.nearest(
+                point.getX(),
+                point.getY(),
+                radius,
+                (final Intersection intersection) -> exclude == null || !intersection.involves(exclude)
+        );
+        return entry == null ? null : entry.value();
+    }
+
+    /**
+     * @return Every intersection in the drawing, ordered by position
+     */
+    public List<Intersection> findAll() {
+        resolve();
+        final List<Intersection> found = new ArrayList<>(this.intersections.size());
+        this.intersections.forEach((final PointQuadTree.Entry<Intersection> entry) -> found.add(entry.value()));
+        found.sort((final Intersection a, final Intersection b) -> a.x() != b.x()
+                ? Double.compare(a.x(), b.x())
+                : Double.compare(a.y(), b.y()));
+        return found;
+    }
+}
@@ -0,0 +1,63 @@
+package com.engineersbox.cadtool.draw.intersection;
+
+import com.engineersbox.cadtool.draw.element.DrawElement;
+
+import java.awt.geom.Line2D;
+import java.awt.geom.Rectangle2D;
+
+/**
+ * Segment - a straight segment of an element, oriented so that it starts at its
+ * lexicographically smaller end point (by x, then y) as the sweep expects.
+ */
+final class Segment {
+
+    final double x1;
+    final double y1;
+    final double x2;
+    final double y2;
+    final boolean vertical;
+    final double slope;
+    final DrawElement element;
+    final int id;
+
+    Segment(final Line2D line, final DrawElement element, final int id) {
+        final boolean reversed = line.getX1() > line.getX2()
+                || (line.getX1() == line.getX2() && line.getY1() > line.getY2());
+        this.x1 = reversed ? line.getX2() : line.getX1();
+        this.y1 = reversed ? line.getY2() : line.getY1();
+        this.x2 = reversed ? line.getX1() : line.getX2();
+        this.y2 = reversed ? line.getY1() : line.getY2();
+        this.vertical = this.x1 == this.x2;
+        this.slope = this.vertical ? Double.NaN : (this.y2 - this.y1) / (this.x2 - this.x1);
+        this.element = element;
+        this.id = id;
+    }
+
+    boolean isDegenerate() {
+        return this.x1 == this.x2 && this.y1 == this.y2;
+    }
+
+    /**
+     * Position of the segment along a vertical sweep line. Vertical segments lie along
+     * the sweep line, so they take the position of the current event, clamped to their span.
+     */
+    double yAt(final double x, final double eventY) {
+        if (this.vertical) {
+            return Math.max(this.y1, Math.min(this.y2, eventY));
+        } else if (x == this.x1) {
+            return this.y1;
+        } else if (x == this.x2) {
+            return this.y2;
+        }
+        return this.y1 + ((x - this.x1) * this.slope);
+    }
+
+    Rectangle2D bounds() {
+        return new Rectangle2D.Double(
+                this.x1,
+                Math.min(this.y1, this.y2),
+                this.x2 - this.x1,
+                Math.abs(this.y2 - this.y1)
+        );
+    }
+}
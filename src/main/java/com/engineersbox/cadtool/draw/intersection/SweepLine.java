@@ -0,0 +1,283 @@
+package com.engineersbox.cadtool.draw.intersection;
+
+import com.engineersbox.cadtool.draw.element.DrawElement;
+
+import java.awt.geom.Line2D;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+
+/**
+ * <p>
+ *     SweepLine - Bentley-Ottmann sweep reporting every point at which segments of two different
+ *     elements meet, in O((n + k) log n) time for n segments and k intersections.
+ * </p>
+ * <p>
+ *     A vertical sweep line moves across the plane in order of x, then y. Events are segment end
+ *     points and intersections discovered between segments that become neighbours along the sweep
+ *     line. Vertical segments lie along the sweep line itself, so while active they take the
+ *     position of the current event, which lets them be handled with the same neighbour tests as
+ *     every other segment. Intersections are rounded to one canonical point before they are queued,
+ *     taking the x of a vertical segment and the position of a segment end point or queued event
+ *     within {@link SweepLine#EPSILON} of them. Touching end points and crossings of three or more
+ *     segments then become a single event, and are reported once with every segment through them.
+ * </p>
+ */
+final class SweepLine {
+
+    private static final double EPSILON = 1e-7;
+
+    private record EventPoint(double x, double y) {
+    }
+
+    private static final Comparator<EventPoint> EVENT_ORDER = Comparator.comparingDouble(EventPoint::x)
+            .thenComparingDouble(EventPoint::y);
+
+    private final NavigableMap<EventPoint, List<Segment>> events;
+    private final TreeSet<Segment> status;
+    private final NavigableSet<Double> verticals;
+    private final Segment probe;
+    private final Consumer<Intersection> consumer;
+    private double sweepX;
+    private double sweepY;
+    private double probeY;
+    private boolean afterEvent;
+
+    private SweepLine(final Consumer<Intersection> consumer) {
+        this.events = new TreeMap<>(SweepLine.EVENT_ORDER);
+        this.status = new TreeSet<>(this::compareStatus);
+        this.verticals = new TreeSet<>();
+        this.probe = new Segment(new Line2D.Double(), null, -1);
+        this.consumer = consumer;
+    }
+
+    /**
+     * Report the intersections between segments of different elements.
+     *
+     * @param segments Segments to sweep, none of which may be degenerate
+     * @param consumer Visitor for each intersection found
+     */
+    static void sweep(final Collection<Segment> segments, final Consumer<Intersection> consumer) {
+        final SweepLine sweepLine = new SweepLine(consumer);
+        for (final Segment segment : segments) {
+            sweepLine.event(segment.x1, segment.y1).add(segment);
+            sweepLine.event(segment.x2, segment.y2);
+            if (segment.vertical) {
+                sweepLine.verticals.add(segment.x1);
+            }
+        }
+        Map.Entry<EventPoint, List<Segment>> next;
+        while ((next = sweepLine.events.pollFirstEntry()) != null) {
+            sweepLine.handle(next.getKey(), next.getValue());
+        }
+    }
+
+    private List<Segment> event(final double x, final double y) {
+        return this.events.computeIfAbsent(new EventPoint(x, y), (final EventPoint point) -> new ArrayList<>(2));
+    }
+
+    private void handle(final EventPoint point, final List<Segment> starting) {
+        this.sweepX = point.x();
+        this.sweepY = point.y();
+        this.afterEvent = false;
+        final List<Segment> through = segmentsThrough(point);
+        report(point, starting, through);
+
+        for (final Segment segment : through) {
+            if (!this.status.remove(segment)) {
+                // Rounding left the ordering inconsistent around this segment, fall back to identity
+                this.status.removeIf((final Segment active) -> active == segment);
+            }
+        }
+        this.afterEvent = true;
+        final List<Segment> continuing = new ArrayList<>(starting.size() + through.size());
+        for (final Segment segment : through) {
+            if (!endsAt(segment, point)) {
+                continuing.add(segment);
+            }
+        }
+        continuing.addAll(starting);
+        continuing.forEach(this.status::add);
+
+        if (continuing.isEmpty()) {
+            this.probeY = point.y();
+            findEvent(this.status.lower(this.probe), this.status.higher(this.probe), point);
+            return;
+        }
+        Segment lowest = continuing.get(0);
+        Segment highest = continuing.get(0);
+        for (final Segment segment : continuing) {
+            if (compareStatus(segment, lowest) < 0) {
+                lowest = segment;
+            }
+            if (compareStatus(segment, highest) > 0) {
+                highest = segment;
+            }
+        }
+        findEvent(this.status.lower(lowest), lowest, point);
+        findEvent(highest, this.status.higher(highest), point);
+    }
+
+    private List<Segment> segmentsThrough(final EventPoint point) {
+        final List<Segment> through = new ArrayList<>();
+        this.probeY = point.y();
+        Segment segment = this.status.higher(this.probe);
+        while (segment != null && Math.abs(segment.yAt(this.sweepX, this.sweepY) - point.y()) <= SweepLine.EPSILON) {
+            through.add(segment);
+            segment = this.status.higher(segment);
+        }
+        return through;
+    }
+
+    private void report(final EventPoint point, final List<Segment> starting, final List<Segment> through) {
+        final List<DrawElement> elements = new ArrayList<>(starting.size() + through.size());
+        for (final Segment segment : through) {
+            if (!containsIdentity(elements, segment.element)) {
+                elements.add(segment.element);
+            }
+        }
+        for (final Segment segment : starting) {
+            if (!containsIdentity(elements, segment.element)) {
+                elements.add(segment.element);
+            }
+        }
+        for (int i = 0; i < elements.size(); i++) {
+            for (int j = i + 1; j < elements.size(); j++) {
+                this.consumer.accept(new Intersection(point.x(), point.y(), elements.get(i), elements.get(j)));
+            }
+        }
+    }
+
+    private static boolean containsIdentity(final List<DrawElement> elements, final DrawElement element) {
+        for (final DrawElement existing : elements) {
+            if (existing == element) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean endsAt(final Segment segment, final EventPoint point) {
+        return Math.abs(segment.x2 - point.x()) <= SweepLine.EPSILON
+                && Math.abs(segment.y2 - point.y()) <= SweepLine.EPSILON;
+    }
+
+    /**
+     * Schedule the intersection of two neighbouring segments if it lies ahead of the sweep line.
+     */
+    private void findEvent(final Segment a, final Segment b, final EventPoint current) {
+        if (a == null || b == null) {
+            return;
+        }
+        // Compute in a fixed order so rediscovering the same pair gives an identical point
+        final double[] crossing = a.id < b.id ? intersect(a, b) : intersect(b, a);
+        if (crossing == null) {
+            return;
+        }
+        // A crossing computed between two other segments may fall just either side of a vertical
+        // through the same point, which would order it before the vertical becomes active
+        final Double vertical = this.verticals.ceiling(crossing[0] - SweepLine.EPSILON);
+        if (vertical != null && vertical <= crossing[0] + SweepLine.EPSILON) {
+            crossing[0] = vertical;
+        }
+        final EventPoint point = new EventPoint(crossing[0], crossing[1]);
+        if (SweepLine.EVENT_ORDER.compare(point, current) <= 0 || isNear(point, current)) {
+            return;
+        }
+        final NavigableMap<EventPoint, List<Segment>> nearby = this.events.subMap(
+                new EventPoint(point.x() - SweepLine.EPSILON, Double.NEGATIVE_INFINITY), true,
+                new EventPoint(point.x() + SweepLine.EPSILON, Double.POSITIVE_INFINITY), true
+        );
+        for (final EventPoint existing : nearby.keySet()) {
+            if (isNear(point, existing)) {
+                // Already queued, the segments through it are gathered when it is handled
+                return;
+            }
+        }
+        this.events.put(point, new ArrayList<>(0));
+    }
+
+    private static boolean isNear(final EventPoint a, final EventPoint b) {
+        return Math.abs(a.x() - b.x()) <= SweepLine.EPSILON
+                && Math.abs(a.y() - b.y()) <= SweepLine.EPSILON;
+    }
+
+    private static double[] intersect(final Segment a, final Segment b) {
+        final double adx = a.x2 - a.x1;
+        final double ady = a.y2 - a.y1;
+        final double bdx = b.x2 - b.x1;
+        final double bdy = b.y2 - b.y1;
+        final double denominator = (adx * bdy) - (ady * bdx);
+        if (denominator == 0) {
+            // Parallel, overlaps are reported where one segment starts or ends on the other
+            return null;
+        }
+        final double ox = b.x1 - a.x1;
+        final double oy = b.y1 - a.y1;
+        final double t = ((ox * bdy) - (oy * bdx)) / denominator;
+        final double u = ((ox * ady) - (oy * adx)) / denominator;
+        if (t < 0 || t > 1 || u < 0 || u > 1) {
+            return null;
+        }
+        final double[] point = new double[]{
+                a.vertical ? a.x1 : b.vertical ? b.x1 : a.x1 + (t * adx),
+                a.y1 + (t * ady)
+        };
+        snapToEndPoint(point, a.x1, a.y1);
+        snapToEndPoint(point, a.x2, a.y2);
+        snapToEndPoint(point, b.x1, b.y1);
+        snapToEndPoint(point, b.x2, b.y2);
+        return point;
+    }
+
+    private static void snapToEndPoint(final double[] point, final double x, final double y) {
+        if (Math.abs(point[0] - x) <= SweepLine.EPSILON && Math.abs(point[1] - y) <= SweepLine.EPSILON) {
+            point[0] = x;
+            point[1] = y;
+        }
+    }
+
+    private int compareStatus(final Segment a, final Segment b) {
+        if (a == b) {
+            return 0;
+        } else if (a == this.probe) {
+            return compareProbe(b);
+        } else if (b == this.probe) {
+            return -compareProbe(a);
+        }
+        final double ya = a.yAt(this.sweepX, this.sweepY);
+        final double yb = b.yAt(this.sweepX, this.sweepY);
+        if (Math.abs(ya - yb) > SweepLine.EPSILON) {
+            return Double.compare(ya, yb);
+        }
+        // Segments meet on the sweep line, order them as they lie just before or just after it
+        final int order;
+        if (a.vertical != b.vertical) {
+            order = a.vertical ? -1 : 1;
+        } else if (!a.vertical && a.slope != b.slope) {
+            order = -Double.compare(a.slope, b.slope);
+        } else {
+            return Integer.compare(a.id, b.id);
+        }
+        return this.afterEvent ? -order : order;
+    }
+
+    /**
+     * The probe sorts before every segment meeting the probed position, so the
+     * segments following it are those through the position and above.
+     */
+    private int compareProbe(final Segment segment) {
+        final double y = segment.yAt(this.sweepX, this.sweepY);
+        if (Math.abs(this.probeY - y) <= SweepLine.EPSILON) {
+            return -1;
+        }
+        return Double.compare(this.probeY, y);
+    }
+}
@@ -0,0 +1,196 @@
+package com.engineersbox.cadtool.draw.render;
+
+import com.engineersbox.cadtool.draw.Drawing;
+import com.engineersbox.cadtool.draw.coordinate.GeometryKernels;
+import com.engineersbox.cadtool.draw.element.ElementControlPoint;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Path2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.function.Predicate;
+
+/**
+ * <p>
+ *     ControlPointOverlay - draws markers over the control points within an area, either stamped
+ *     from a pre-rendered sprite or as a single batched path, rather than one shape per point.
+ * </p>
+ * <p>
+ *     Points are binned into a grid of cells a few pixels across on screen. Cells holding more
+ *     points than can be told apart are collapsed into a single filled square at the centroid of
+ *     their points, so a dense or zoomed out drawing draws at most one marker per cell.
+ * </p>
+ * <p>
+ *     Markers are drawn in view coordinates, at positions mapped through the view transform,
+ *     so they stay the same size on screen however far the drawing is zoomed.
+ * </p>
+ */
+public class ControlPointOverlay {
+
+    // Size on screen of the cells points are binned into
+    private static final double CELL_SIZE = 8.0;
+    // Cells holding more points than this are drawn as one aggregate marker
+    private static final int MAX_INDIVIDUAL_MARKERS = 4;
+    private static final double AGGREGATE_RADIUS_FACTOR = 1.5;
+
+    private final double markerRadius;
+    private final Ellipse2D marker;
+    private final Path2D spritePath;
+    private final int spriteOffset;
+    private BufferedImage sprite;
+    private Color spriteColor;
+    private double[] positions;
+    private int[] pointCells;
+    private int[] cellCounts;
+    private int pointCount;
+
+    public ControlPointOverlay(final double markerRadius) {
+        this.markerRadius = markerRadius;
+        this.marker = new Ellipse2D.Double();
+        this.spritePath = new Path2D.Double();
+        this.spriteOffset = (int) Math.ceil(markerRadius) + 1;
+        this.sprite = null;
+        this.spriteColor = null;
+        this.positions = new double[256];
+        this.pointCells = new int[128];
+        this.cellCounts = new int[0];
+        this.pointCount = 0;
+    }
+
+    /**
+     * Draw markers over the control points of a drawing within an area, in the current
+     * colour of the context.
+     * @param g Graphics2D context, in view coordinates
+     * @param area Area to draw the markers of, in drawing coordinates
+     * @param view Transform from drawing to view coordinates
+     * @param drawing Drawing whose control points are drawn
+     * @param filter Predicate control points must satisfy to be drawn. May be null to draw all.
+     */
+    public void draw(final Graphics2D g,
+                     final Rectangle2D area,
+                     final AffineTransform view,
+                     final Drawing drawing,
+                     final Predicate<ElementControlPoint> filter) {
+        final Rectangle2D viewArea = view.createTransformedShape(area).getBounds2D();
+        final double cellSize = ControlPointOverlay.CELL_SIZE / LevelOfDetail.scale(g);
+        final int columns = (int) Math.ceil(viewArea.getWidth() / cellSize) + 1;
+        final int rows = (int) Math.ceil(viewArea.getHeight() / cellSize) + 1;
+        if (this.cellCounts.length < columns * rows) {
+            this.cellCounts = new int[columns * rows];
+        } else {
+            Arrays.fill(this.cellCounts, 0, columns * rows, 0);
+        }
+        this.pointCount = 0;
+        drawing.findControlPositions(
+                area,
+                (final double x, final double y, final ElementControlPoint controlPoint) -> {
+                    if (filter == null || filter.test(controlPoint)) {
+                        add(x, y);
+                    }
+                }
+        );
+        if (this.pointCount == 0) {
+            return;
+        }
+        // Every position is mapped into the view in one pass before any are binned
+        GeometryKernels.transform(view, this.positions, 0, this.pointCount);
+        for (int i = 0; i < this.pointCount; i++) {
+            final int column = Math.min(columns - 1, Math.max(0, (int) ((this.positions[i * 2] - viewArea.getX()) / cellSize)));
+            final int row = Math.min(rows - 1, Math.max(0, (int) ((this.positions[(i * 2) + 1] - viewArea.getY()) / cellSize)));
+            this.pointCells[i] = (row * columns) + column;
+            this.cellCounts[this.pointCells[i]]++;
+        }
+        // Markers keep the same size on screen, so when the context is not scaled or rotated they can
+        // be stamped from a pre-rendered sprite rather than rasterised point by point
+        final boolean stamp = (g.getTransform().getType() & ~AffineTransform.TYPE_TRANSLATION) == 0;
+        final BufferedImage sprite = stamp ? sprite(g.getColor()) : null;
+        final Path2D markers = new Path2D.Double();
+        boolean aggregated = false;
+        for (int i = 0; i < this.pointCount; i++) {
+            if (this.cellCounts[this.pointCells[i]] > ControlPointOverlay.MAX_INDIVIDUAL_MARKERS) {
+                aggregated = true;
+            } else if (stamp) {
+                g.drawImage(
+                        sprite,
+                        (int) Math.floor(this.positions[i * 2]) - this.spriteOffset,
+                        (int) Math.floor(this.positions[(i * 2) + 1]) - this.spriteOffset,
+                        null
+                );
+            } else {
+                append(markers, this.positions[i * 2], this.positions[(i * 2) + 1]);
+            }
+        }
+        if (!stamp) {
+            g.draw(markers);
+        }
+        if (!aggregated) {
+            return;
+        }
+        final double[] centroids = new double[columns * rows * 2];
+        for (int i = 0; i < this.pointCount; i++) {
+            final int cell = this.pointCells[i];
+            centroids[cell * 2] += this.positions[i * 2] / this.cellCounts[cell];
+            centroids[(cell * 2) + 1] += this.positions[(i * 2) + 1] / this.cellCounts[cell];
+        }
+        // Aggregates are filled squares, which are far cheaper to fill in bulk than circles
+        final Path2D aggregates = new Path2D.Double();
+        final double aggregateRadius = this.markerRadius * ControlPointOverlay.AGGREGATE_RADIUS_FACTOR;
+        for (int cell = 0; cell < columns * rows; cell++) {
+            if (this.cellCounts[cell] > ControlPointOverlay.MAX_INDIVIDUAL_MARKERS) {
+                final double x = centroids[cell * 2];
+                final double y = centroids[(cell * 2) + 1];
+                aggregates.moveTo(x - aggregateRadius, y - aggregateRadius);
+                aggregates.lineTo(x + aggregateRadius, y - aggregateRadius);
+                aggregates.lineTo(x + aggregateRadius, y + aggregateRadius);
+                aggregates.lineTo(x - aggregateRadius, y + aggregateRadius);
+                aggregates.closePath();
+            }
+        }
+        g.fill(aggregates);
+    }
+
+    private void add(final double x, final double y) {
+        if (this.pointCount == this.pointCells.length) {
+            this.pointCells = Arrays.copyOf(this.pointCells, this.pointCount * 2);
+            this.positions = Arrays.copyOf(this.positions, this.pointCount * 4);
+        }
+        this.positions[this.pointCount * 2] = x;
+        this.positions[(this.pointCount * 2) + 1] = y;
+        this.pointCount++;
+    }
+
+    private BufferedImage sprite(final Color color) {
+        if (this.sprite != null && color.equals(this.spriteColor)) {
+            return this.sprite;
+        }
+        final int size = (this.spriteOffset * 2) + 1;
+        final BufferedImage image = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+        final Graphics2D g = image.createGraphics();
+        try {
+            g.setColor(color);
+            // Placed as a marker around a point at the sprite offset would be
+            g.translate(this.spriteOffset, this.spriteOffset);
+            append(this.spritePath, 0, 0);
+            g.draw(this.spritePath);
+            this.spritePath.reset();
+        } finally {
+            g.dispose();
+        }
+        this.sprite = image;
+        this.spriteColor = color;
+        return image;
+    }
+
+    private void append(final Path2D path, final double x, final double y) {
+        this.marker.setFrame(
+                x - this.markerRadius,
+                y - this.markerRadius,
+                this.markerRadius * 2,
+                this.markerRadius * 2
+        );
+        path.append(this.marker, false);
+    }
+}
@@ -0,0 +1,295 @@
+package com.engineersbox.cadtool.draw.render;
+
+import java.awt.*;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ *     FrameStatistics - times each paint of the draw area and keeps the timings of the
+ *     most recent frames, so that stutters can be seen on screen or logged.
+ * </p>
+ * <p>
+ *     Each frame records its total paint time, split into the time spent drawing the drawing
+ *     itself and the time spent on the overlays painted over it, along with the number of
+ *     elements drawn and culled and the bytes allocated while painting. Element counts are
+ *     summed across every pass of {@link com.engineersbox.cadtool.draw.Drawing#draw} in the
+ *     frame, so an element drawn into two tiles counts twice, and may be recorded from tile
+ *     rendering threads. Everything else is recorded on the thread painting.
+ * </p>
+ * <p>
+ *     Allocations are only sampled once turned on with {@link #setSamplingAllocations}, such as
+ *     while the figure is shown, and only count the thread painting and the work it hands to tile
+ *     rendering threads through {@link #countAllocations}.
+ * </p>
+ */
+public class FrameStatistics {
+
+    /**
+     * Statistics over the frames currently in the window, in milliseconds where timed.
+     * @param frames Number of frames in the window
+     * @param lastFrame Paint time of the most recent frame
+     * @param p50 Median paint time
+     * @param p99 99th percentile paint time
+     * @param drawing Time spent drawing the drawing in the most recent frame
+     * @param overlay Time spent drawing overlays in the most recent frame
+     * @param elementsDrawn Elements drawn in the most recent frame
+     * @param elementsCulled Elements culled in the most recent frame
+     * @param allocationRate Bytes allocated by painting per second, over the most recent frames
+     *                       sampled in a row. Zero when the most recent frame was not sampled.
+     */
+    public record Summary(int frames,
+                          double lastFrame,
+                          double p50,
+                          double p99,
+                          double drawing,
+                          double overlay,
+                          long elementsDrawn,
+                          long elementsCulled,
+                          double allocationRate) {
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "frame %.2fms (p50 %.2fms, p99 %.2fms), drawing %.2fms, overlay %.2fms, "
+                            + "%d drawn, %d culled, %.1f MB/s allocated",
+                    this.lastFrame,
+                    this.p50,
+                    this.p99,
+                    this.drawing,
+                    this.overlay,
+                    this.elementsDrawn,
+                    this.elementsCulled,
+                    this.allocationRate / (1024 * 1024)
+            );
+        }
+    }
+
+    // Number of most recent frames percentiles and rates are taken over
+    public static final int DEFAULT_WINDOW = 120;
+    private static final double NANOS_PER_MILLI = 1e6;
+    private static final int HUD_PADDING = 4;
+    private static final int HUD_LINES = 5;
+    private static final String WIDEST_HUD_LINE = "drawing 0000.00 ms  overlay 0000.00 ms";
+    private static final long UNSAMPLED = -1;
+
+    private final long[] frameTimes;
+    private final long[] frameStarts;
+    private final long[] frameAllocations;
+    private final long[] sortedFrameTimes;
+    private final LongAdder elementsDrawn;
+    private final LongAdder elementsCulled;
+    private final LongAdder workerAllocations;
+    // Null when the JVM cannot report allocations by thread
+    private final com.sun.management.ThreadMXBean allocationBean;
+    private volatile boolean samplingAllocations;
+    private volatile boolean frameSampled;
+    private int frames;
+    private int next;
+    private long frameStart;
+    private long drawingStart;
+    private long overlayStart;
+    private long allocationStart;
+    private long lastDrawing;
+    private long lastOverlay;
+    private long lastElementsDrawn;
+    private long lastElementsCulled;
+
+    public FrameStatistics() {
+        this(FrameStatistics.DEFAULT_WINDOW);
+    }
+
+    public FrameStatistics(final int window) {
+        this.frameTimes = new long[window];
+        this.frameStarts = new long[window];
+        this.frameAllocations = new long[window];
+        this.sortedFrameTimes = new long[window];
+        this.elementsDrawn = new LongAdder();
+        this.elementsCulled = new LongAdder();
+        this.workerAllocations = new LongAdder();
+        final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        this.allocationBean = threadBean instanceof final com.sun.management.ThreadMXBean allocationBean
+                && allocationBean.isThreadAllocatedMemorySupported() ? allocationBean : null;
+        this.samplingAllocations = false;
+        this.frames = 0;
+        this.next = 0;
+    }
+
+    /**
+     * Start timing a frame, beginning with the pass drawing the drawing.
+     */
+    public void beginFrame() {
+        this.elementsDrawn.reset();
+        this.elementsCulled.reset();
+        this.workerAllocations.reset();
+        this.frameSampled = this.samplingAllocations
+                && this.allocationBean != null
+                && this.allocationBean.isThreadAllocatedMemoryEnabled();
+        this.allocationStart = this.frameSampled ? this.allocationBean.getCurrentThreadAllocatedBytes() : 0;
+        this.frameStart = System.nanoTime();
+        this.drawingStart = this.frameStart;
+        this.overlayStart = this.frameStart;
+    }
+
+    /**
+     * Mark the end of the pass drawing the drawing, and the start of the overlays over it.
+     */
+    public void beginOverlay() {
+        this.overlayStart = System.nanoTime();
+    }
+
+    /**
+     * Finish timing the current frame, adding it to the window.
+     */
+    public void endFrame() {
+        final long end = System.nanoTime();
+        this.lastDrawing = this.overlayStart - this.drawingStart;
+        this.lastOverlay = end - this.overlayStart;
+        this.lastElementsDrawn = this.elementsDrawn.sum();
+        this.lastElementsCulled = this.elementsCulled.sum();
+        this.frameTimes[this.next] = end - this.frameStart;
+        this.frameStarts[this.next] = this.frameStart;
+        this.frameAllocations[this.next] = this.frameSampled
+                ? this.allocationBean.getCurrentThreadAllocatedBytes() - this.allocationStart + this.workerAllocations.sum()
+                : FrameStatistics.UNSAMPLED;
+        this.next = (this.next + 1) % this.frameTimes.length;
+        this.frames = Math.min(this.frames + 1, this.frameTimes.length);
+    }
+
+    /**
+     * Count the elements drawn and culled by a pass of the drawing. May be called from any thread.
+     * @param drawn Number of elements drawn
+     * @param culled Number of elements skipped as they were outside the area drawn
+     */
+    public void countElements(final int drawn, final int culled) {
+        this.elementsDrawn.add(drawn);
+        this.elementsCulled.add(culled);
+    }
+
+    /**
+     * Turn sampling of the bytes allocated by each frame on or off, taking effect from the next
+     * frame. Off by default, as it reads the allocation counter of every thread painting the frame.
+     * @param samplingAllocations Whether to sample allocations
+     */
+    public void setSamplingAllocations(final boolean samplingAllocations) {
+        this.samplingAllocations = samplingAllocations;
+    }
+
+    /**
+     * Run work handed off by the thread painting, such as rendering a tile on another thread,
+     * counting what it allocates into the current frame when sampling. May be called from any thread.
+     * @param work Work to run
+     * @param <T> Type of the result of the work
+     * @return Result of the work
+     */
+    public <T> T countAllocations(final Supplier<T> work) {
+        if (!this.frameSampled) {
+            return work.get();
+        }
+        final long start = this.allocationBean.getCurrentThreadAllocatedBytes();
+        try {
+            return work.get();
+        } finally {
+            this.workerAllocations.add(this.allocationBean.getCurrentThreadAllocatedBytes() - start);
+        }
+    }
+
+    /**
+     * Summarise the frames in the window. Should be called on the thread painting, such as
+     * from a listener on the event dispatch thread when logging.
+     * @return Statistics over the window
+     */
+    public Summary summary() {
+        if (this.frames == 0) {
+            return new Summary(0, 0, 0, 0, 0, 0, 0, 0, 0);
+        }
+        System.arraycopy(this.frameTimes, 0, this.sortedFrameTimes, 0, this.frames);
+        Arrays.sort(this.sortedFrameTimes, 0, this.frames);
+        final int last = Math.floorMod(this.next - 1, this.frameTimes.length);
+        final int first = this.frames < this.frameTimes.length ? 0 : this.next;
+        // Only the latest run of sampled frames, as frames before sampling was last turned on have no figure
+        long allocated = 0;
+        long sampledSince = FrameStatistics.UNSAMPLED;
+        for (int i = 0; i < this.frames; i++) {
+            final int index = (first + i) % this.frameTimes.length;
+            if (this.frameAllocations[index] == FrameStatistics.UNSAMPLED) {
+                allocated = 0;
+                sampledSince = FrameStatistics.UNSAMPLED;
+                continue;
+            }
+            if (sampledSince == FrameStatistics.UNSAMPLED) {
+                sampledSince = this.frameStarts[index];
+            }
+            allocated += this.frameAllocations[index];
+        }
+        final long span = (this.frameStarts[last] + this.frameTimes[last]) - sampledSince;
+        return new Summary(
+                this.frames,
+                this.frameTimes[last] / FrameStatistics.NANOS_PER_MILLI,
+                percentile(0.5) / FrameStatistics.NANOS_PER_MILLI,
+                percentile(0.99) / FrameStatistics.NANOS_PER_MILLI,
+                this.lastDrawing / FrameStatistics.NANOS_PER_MILLI,
+                this.lastOverlay / FrameStatistics.NANOS_PER_MILLI,
+                this.lastElementsDrawn,
+                this.lastElementsCulled,
+                sampledSince != FrameStatistics.UNSAMPLED && span > 0 ? allocated * 1e9 / span : 0
+        );
+    }
+
+    private long percentile(final double percentile) {
+        final int index = (int) Math.ceil(percentile * this.frames) - 1;
+        return this.sortedFrameTimes[Math.max(0, Math.min(this.frames - 1, index))];
+    }
+
+    /**
+     * Draw the current summary as a panel of text, anchored at its top left corner.
+     * @param g Graphics2D context, in screen space
+     * @param x Left of the panel
+     * @param y Top of the panel
+     */
+    public void drawHud(final Graphics2D g, final int x, final int y) {
+        final Summary summary = summary();
+        final String[] lines = {
+                String.format("frame %.2f ms", summary.lastFrame()),
+                String.format("p50 %.2f ms  p99 %.2f ms", summary.p50(), summary.p99()),
+                String.format("drawing %.2f ms  overlay %.2f ms", summary.drawing(), summary.overlay()),
+                String.format("elements %d drawn  %d culled", summary.elementsDrawn(), summary.elementsCulled()),
+                String.format("allocating %.1f MB/s", summary.allocationRate() / (1024 * 1024))
+        };
+        final FontMetrics fontMetrics = g.getFontMetrics();
+        final Rectangle panel = hudBounds(fontMetrics, x, y);
+        final Color color = g.getColor();
+        g.setColor(Color.white);
+        g.fill(panel);
+        g.setColor(Color.darkGray);
+        g.draw(panel);
+        for (int i = 0; i < lines.length; i++) {
+            g.drawString(
+                    lines[i],
+                    x + FrameStatistics.HUD_PADDING,
+                    y + FrameStatistics.HUD_PADDING + fontMetrics.getAscent() + (i * fontMetrics.getHeight())
+            );
+        }
+        g.setColor(color);
+    }
+
+    /**
+     * @param fontMetrics Metrics of the font the panel is drawn in
+     * @param x Left of the panel
+     * @param y Top of the panel
+     * @return Area covered by the panel
+     */
+    public Rectangle hudBounds(final FontMetrics fontMetrics, final int x, final int y) {
+        // Wide enough for the longest line with every figure at its widest, so the panel does not
+        // change size from one frame to the next
+        return new Rectangle(
+                x,
+                y,
+                fontMetrics.stringWidth(FrameStatistics.WIDEST_HUD_LINE) + (FrameStatistics.HUD_PADDING * 2),
+                (fontMetrics.getHeight() * FrameStatistics.HUD_LINES) + (FrameStatistics.HUD_PADDING * 2)
+        );
+    }
+}
@@ -0,0 +1,137 @@
+package com.engineersbox.cadtool.draw.render;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.FlatteningPathIterator;
+import java.awt.geom.Path2D;
+import java.awt.geom.Rectangle2D;
+
+/**
+ * <p>
+ *     LevelOfDetail - decides how much detail is worth drawing at the scale of the device
+ *     being drawn to.
+ * </p>
+ * <p>
+ *     Sizes are compared in device pixels, so the same element may be drawn in full when zoomed
+ *     in and reduced to its bounds when zoomed out. Measurements are skipped once what they
+ *     measure is too short for their text to be read, and curves are flattened no finer than
+ *     can be seen.
+ * </p>
+ * <p>
+ *     On high resolution displays a pixel of the screen covers several device pixels. The number
+ *     of device pixels per screen pixel is passed to drawing code as the {@link #DEVICE_SCALE}
+ *     hint, so that sizes given on screen, such as the offsets of measurements, can be kept to
+ *     screen pixels while everything is still drawn at the resolution of the device.
+ * </p>
+ */
+public final class LevelOfDetail {
+
+    // Below this length on screen, measurement text overruns what it measures
+    public static final double MIN_MEASURED_LENGTH = 48.0;
+    // Elements smaller than this on screen are drawn as their bounds
+    public static final double MIN_DETAILED_SIZE = 4.0;
+    // Greatest distance on screen between a flattened curve and the true curve
+    public static final double CURVE_FLATNESS = 0.5;
+    private static final int CURVE_SUBDIVISION_LIMIT = 8;
+
+    /**
+     * Hint holding the number of device pixels per screen pixel of the context, as a {@link Double}.
+     * Taken to be one when absent.
+     */
+    public static final RenderingHints.Key DEVICE_SCALE = new DeviceScaleKey();
+
+    private static final class DeviceScaleKey extends RenderingHints.Key {
+
+        private DeviceScaleKey() {
+            super(0);
+        }
+
+        @Override
+        public boolean isCompatibleValue(final Object value) {
+            return value instanceof final Double scale && scale > 0;
+        }
+
+        @Override
+        public String toString() {
+            return "Device scale";
+        }
+    }
+
+    private LevelOfDetail() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * @param g Graphics2D context being drawn to
+     * @return Number of device pixels per unit of drawing space
+     */
+    public static double scale(final Graphics2D g) {
+        final AffineTransform transform = g.getTransform();
+        final double scale = Math.sqrt(Math.abs(transform.getDeterminant()));
+        return scale > 0 ? scale : 1.0;
+    }
+
+    /**
+     * @param g Graphics2D context being drawn to
+     * @return Number of device pixels per screen pixel, from the {@link #DEVICE_SCALE} hint
+     */
+    public static double deviceScale(final Graphics2D g) {
+        return g.getRenderingHint(LevelOfDetail.DEVICE_SCALE) instanceof final Double scale ? scale : 1.0;
+    }
+
+    /**
+     * @param g Graphics2D context being drawn to
+     * @return Number of screen pixels per unit of drawing space, which sizes on screen are given in
+     */
+    public static double viewScale(final Graphics2D g) {
+        return scale(g) / deviceScale(g);
+    }
+
+    public static boolean isMeasurable(final double scale, final double length) {
+        return Math.abs(length) * scale >= LevelOfDetail.MIN_MEASURED_LENGTH;
+    }
+
+    public static boolean isMeasurable(final Graphics2D g, final double length) {
+        return isMeasurable(viewScale(g), length);
+    }
+
+    public static boolean isDetailed(final double scale, final Rectangle2D bounds) {
+        return Math.max(bounds.getWidth(), bounds.getHeight()) * scale >= LevelOfDetail.MIN_DETAILED_SIZE;
+    }
+
+    /**
+     * Draw an element too small to make out as its bounds, or as a single pixel
+     * if the bounds themselves are smaller than a pixel.
+     * @param g Graphics2D context
+     * @param bounds Bounds of the element
+     */
+    public static void drawSimplified(final Graphics2D g, final Rectangle2D bounds) {
+        final double scale = scale(g);
+        if (Math.max(bounds.getWidth(), bounds.getHeight()) * scale < 1.0) {
+            final double pixel = 1.0 / scale;
+            g.fill(new Rectangle2D.Double(bounds.getCenterX(), bounds.getCenterY(), pixel, pixel));
+            return;
+        }
+        g.draw(bounds);
+    }
+
+    /**
+     * Approximate a curved shape with straight segments, only as finely as the
+     * scale being drawn at can show.
+     * @param shape Shape to flatten
+     * @param scale Number of device pixels per unit of drawing space
+     * @return Flattened shape
+     */
+    public static Shape flatten(final Shape shape, final double scale) {
+        final Path2D.Double flattened = new Path2D.Double();
+        flattened.append(
+                new FlatteningPathIterator(
+                        shape.getPathIterator(null),
+                        LevelOfDetail.CURVE_FLATNESS / scale,
+                        LevelOfDetail.CURVE_SUBDIVISION_LIMIT
+                ),
+                false
+        );
+        return flattened;
+    }
+}
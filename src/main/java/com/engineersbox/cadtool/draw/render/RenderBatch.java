@@ -0,0 +1,79 @@
+package com.engineersbox.cadtool.draw.render;
+
+import com.engineersbox.cadtool.draw.RenderState;
+import com.engineersbox.cadtool.draw.element.DrawElement;
+
+import java.awt.*;
+import java.awt.geom.Path2D;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ *     RenderBatch - collects the outlines of batchable elements into a single path for each
+ *     colour and stroke they are drawn with, so that each style is stroked with one call
+ *     rather than one per element.
+ * </p>
+ * <p>
+ *     Measurements are drawn per element once the outlines have been stroked. A batch must be
+ *     flushed before drawing anything that has to appear above the elements already added.
+ * </p>
+ */
+public class RenderBatch {
+
+    private record StyleKey(Color color, Stroke stroke) {
+    }
+
+    private final Graphics2D g;
+    private final double scale;
+    private final RenderState renderState;
+    private final Map<StyleKey, Path2D> outlines;
+    private final List<DrawElement> measured;
+
+    public RenderBatch(final Graphics2D g, final RenderState renderState) {
+        this.g = g;
+        this.scale = LevelOfDetail.scale(g);
+        this.renderState = renderState;
+        this.outlines = new LinkedHashMap<>();
+        this.measured = new ArrayList<>();
+    }
+
+    public void add(final DrawElement element) {
+        final Color color = element.color();
+        final Path2D outline = this.outlines.computeIfAbsent(
+                new StyleKey(color == null ? this.g.getColor() : color, this.g.getStroke()),
+                (final StyleKey key) -> new Path2D.Double()
+        );
+        // Curves flattened for the scale, as when drawn on their own
+        outline.append(element.shape(this.scale), false);
+        if (this.renderState.measurementsEnabled()) {
+            this.measured.add(element);
+        }
+    }
+
+    /**
+     * Stroke the outlines collected so far followed by their measurements, leaving the
+     * batch empty.
+     */
+    public void flush() {
+        if (this.outlines.isEmpty()) {
+            return;
+        }
+        final Color color = this.g.getColor();
+        final Stroke stroke = this.g.getStroke();
+        for (final Map.Entry<StyleKey, Path2D> entry : this.outlines.entrySet()) {
+            this.g.setColor(entry.getKey().color());
+            this.g.setStroke(entry.getKey().stroke());
+            this.g.draw(entry.getValue());
+        }
+        this.g.setColor(color);
+        this.g.setStroke(stroke);
+        for (final DrawElement element : this.measured) {
+            element.drawMeasurements(this.g, this.renderState);
+        }
+        this.outlines.clear();
+        this.measured.clear();
+    }
+}
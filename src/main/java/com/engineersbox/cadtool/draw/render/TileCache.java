@@ -0,0 +1,131 @@
+package com.engineersbox.cadtool.draw.render;
+
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * <p>
+ *     TileCache - least recently used cache of rendered tiles, bounded by a memory budget.
+ * </p>
+ * <p>
+ *     Tiles are square, {@link TileCache#TILE_SIZE} pixels to a side, and aligned to a grid in
+ *     drawing coordinates multiplied by the scale they were rendered at, so panning the view reuses
+ *     the same tiles and tiles rendered at other scales are kept for zooming back to. Tiles are
+ *     invalidated by area, so a change to one element only discards the tiles its bounds overlap
+ *     at each scale.
+ * </p>
+ */
+public class TileCache {
+
+    public static final int TILE_SIZE = 256;
+
+    /**
+     * @param column Column of the tile in the grid at its scale
+     * @param row Row of the tile in the grid at its scale
+     * @param scale Number of pixels per unit of drawing space the tile is rendered at
+     */
+    public record TileKey(int column, int row, double scale) {
+
+        /**
+         * @return Area covered by the tile in scaled drawing coordinates, that is in pixels
+         */
+        public Rectangle2D bounds() {
+            return new Rectangle2D.Double(
+                    (double) this.column * TileCache.TILE_SIZE,
+                    (double) this.row * TileCache.TILE_SIZE,
+                    TileCache.TILE_SIZE,
+                    TileCache.TILE_SIZE
+            );
+        }
+    }
+
+    private final LinkedHashMap<TileKey, BufferedImage> tiles;
+    private long budget;
+    private long usage;
+
+    /**
+     * @param budget Maximum number of bytes of tile images to retain
+     */
+    public TileCache(final long budget) {
+        this.tiles = new LinkedHashMap<>(16, 0.75f, true);
+        this.budget = budget;
+        this.usage = 0;
+    }
+
+    public BufferedImage get(final TileKey key) {
+        return this.tiles.get(key);
+    }
+
+    public void put(final TileKey key, final BufferedImage tile) {
+        final BufferedImage previous = this.tiles.put(key, tile);
+        if (previous != null) {
+            this.usage -= sizeOf(previous);
+        }
+        this.usage += sizeOf(tile);
+        evict();
+    }
+
+    public void setBudget(final long budget) {
+        this.budget = budget;
+        evict();
+    }
+
+    public long getUsage() {
+        return this.usage;
+    }
+
+    public int size() {
+        return this.tiles.size();
+    }
+
+    private void evict() {
+        final Iterator<BufferedImage> leastRecentlyUsed = this.tiles.values().iterator();
+        while (this.usage > this.budget && leastRecentlyUsed.hasNext()) {
+            this.usage -= sizeOf(leastRecentlyUsed.next());
+            leastRecentlyUsed.remove();
+        }
+    }
+
+    /**
+     * Discard every tile, at any scale, overlapping an area.
+     * @param area Area in drawing coordinates
+     * @param padding Distance in pixels of the tiles beyond the area that painting may have reached
+     */
+    public void invalidate(final Rectangle2D area, final double padding) {
+        final Iterator<Map.Entry<TileKey, BufferedImage>> entries = this.tiles.entrySet().iterator();
+        while (entries.hasNext()) {
+            final Map.Entry<TileKey, BufferedImage> entry = entries.next();
+            final TileKey key = entry.getKey();
+            final double scale = key.scale();
+            if (key.column() >= TileCache.tileIndex((area.getMinX() * scale) - padding)
+                    && key.column() <= TileCache.tileIndex((area.getMaxX() * scale) + padding)
+                    && key.row() >= TileCache.tileIndex((area.getMinY() * scale) - padding)
+                    && key.row() <= TileCache.tileIndex((area.getMaxY() * scale) + padding)) {
+                this.usage -= sizeOf(entry.getValue());
+                entries.remove();
+            }
+        }
+    }
+
+    public void invalidateAll() {
+        this.tiles.clear();
+        this.usage = 0;
+    }
+
+    /**
+     * @param coordinate Position along either axis, in scaled drawing coordinates
+     * @return Index of the tile column or row holding the position
+     */
+    public static int tileIndex(final double coordinate) {
+        return (int) Math.floor(coordinate / TileCache.TILE_SIZE);
+    }
+
+    private static long sizeOf(final BufferedImage image) {
+        final DataBuffer buffer = image.getRaster().getDataBuffer();
+        return (long) buffer.getSize() * buffer.getNumBanks() * (DataBuffer.getDataTypeSize(buffer.getDataType()) / 8);
+    }
+}
@@ -0,0 +1,201 @@
+package com.engineersbox.cadtool.draw.render;
+
+import com.engineersbox.cadtool.draw.Drawing;
+import com.engineersbox.cadtool.draw.Strokes;
+import com.engineersbox.cadtool.draw.element.DrawElement;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * <p>
+ *     TiledRenderer - paints a drawing from a cache of pre-rendered tiles.
+ * </p>
+ * <p>
+ *     Only tiles missing from the cache are rendered, each by drawing just the elements that
+ *     overlap it. Callers are responsible for invalidating the tiles under any change to the
+ *     drawing, and for painting the excluded element, which is left out of the tiles so it
+ *     can be edited without repeatedly re-rendering everything beneath it.
+ * </p>
+ * <p>
+ *     The drawing is viewed through a transform of a uniform scale and a translation. Tiles are
+ *     keyed by the scale alone and offset by the translation, rounded to whole pixels, when
+ *     painted, so panning only changes where tiles are painted rather than what is in them.
+ *     Tiles are rendered at the resolution of the device being painted, and painted back pixel
+ *     for pixel, so high resolution displays show the drawing as sharply as drawing it directly.
+ * </p>
+ * <p>
+ *     Missing tiles may be rendered in parallel, each into its own image on a worker of a
+ *     shared {@link ForkJoinPool}, leaving the calling thread to composite the results.
+ * </p>
+ */
+public class TiledRenderer {
+
+    // Shared by all renderers, as only one paints at a time on the event dispatch thread
+    private static final ForkJoinPool RENDER_POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+    private final TileCache cache;
+    private boolean parallel;
+    private FrameStatistics statistics;
+    private double deviceScale;
+
+    public TiledRenderer(final long budget) {
+        this.cache = new TileCache(budget);
+        this.parallel = false;
+        this.deviceScale = 1.0;
+    }
+
+    public TileCache getCache() {
+        return this.cache;
+    }
+
+    /**
+     * Discard every tile, at any scale, overlapping an area.
+     * @param area Area in drawing coordinates
+     * @param padding Distance in pixels of the view beyond the area that painting may have reached
+     */
+    public void invalidate(final Rectangle2D area, final double padding) {
+        // Tiles hold as many pixels as the device they were last painted to
+        this.cache.invalidate(area, padding * this.deviceScale);
+    }
+
+    /**
+     * @param parallel Whether missing tiles are rendered concurrently on a {@link ForkJoinPool}
+     *                 rather than one after another on the calling thread
+     */
+    public void setParallel(final boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    /**
+     * @param statistics Statistics to count allocations made rendering tiles in parallel into.
+     *                   May be null to stop counting.
+     */
+    public void setStatistics(final FrameStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    /**
+     * Paint the tiles covering an area. When rendering in parallel the calling thread waits
+     * for the missing tiles and only composites them, so the drawing must not change until
+     * this returns.
+     * @param g Graphics2D context to paint to, in view coordinates
+     * @param clip Area to paint, in view coordinates
+     * @param view Transform from drawing to view coordinates, of a uniform scale and a
+     *             translation
+     * @param drawing Drawing to render missing tiles from
+     * @param exclude Element left out of rendered tiles. May be null.
+     * @param configuration Configuration of the device being painted, used to create
+     *                      compatible tile images. May be null.
+     */
+    public void paint(final Graphics2D g,
+                      final Rectangle clip,
+                      final AffineTransform view,
+                      final Drawing drawing,
+                      final DrawElement exclude,
+                      final GraphicsConfiguration configuration) {
+        // Device pixels per pixel of the view, such as on a high resolution display
+        final double deviceScale = LevelOfDetail.scale(g);
+        if (deviceScale != this.deviceScale) {
+            // Sizes on screen, such as of outlines, are drawn into tiles at the device scale
+            this.cache.invalidateAll();
+            this.deviceScale = deviceScale;
+        }
+        final double scale = view.getScaleX() * deviceScale;
+        // Tiles are aligned to whole device pixels
+        final int offsetX = (int) Math.round(view.getTranslateX() * deviceScale);
+        final int offsetY = (int) Math.round(view.getTranslateY() * deviceScale);
+        final int minColumn = TileCache.tileIndex((clip.getMinX() * deviceScale) - offsetX);
+        final int maxColumn = TileCache.tileIndex(Math.ceil(clip.getMaxX() * deviceScale) - offsetX - 1);
+        final int minRow = TileCache.tileIndex((clip.getMinY() * deviceScale) - offsetY);
+        final int maxRow = TileCache.tileIndex(Math.ceil(clip.getMaxY() * deviceScale) - offsetY - 1);
+        final int columns = maxColumn - minColumn + 1;
+        final TileCache.TileKey[] keys = new TileCache.TileKey[columns * (maxRow - minRow + 1)];
+        // Held here until painted, as adding the missing tiles may evict others from the cache
+        final BufferedImage[] tiles = new BufferedImage[keys.length];
+        final List<Integer> missing = new ArrayList<>();
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = new TileCache.TileKey(minColumn + (i % columns), minRow + (i / columns), scale);
+            tiles[i] = this.cache.get(keys[i]);
+            if (tiles[i] == null) {
+                missing.add(i);
+            }
+        }
+        final RenderingHints hints = g.getRenderingHints();
+        final Font font = g.getFont();
+        if (this.parallel && missing.size() > 1) {
+            final FrameStatistics frameStatistics = this.statistics;
+            final List<ForkJoinTask<BufferedImage>> tasks = new ArrayList<>(missing.size());
+            for (final int i : missing) {
+                tasks.add(TiledRenderer.RENDER_POOL.submit(
+                        () -> frameStatistics == null
+                                ? render(keys[i], deviceScale, hints, font, drawing, exclude, configuration)
+                                : frameStatistics.countAllocations(
+                                        () -> render(keys[i], deviceScale, hints, font, drawing, exclude, configuration)
+                                )
+                ));
+            }
+            for (int j = 0; j < tasks.size(); j++) {
+                tiles[missing.get(j)] = tasks.get(j).join();
+            }
+        } else {
+            for (final int i : missing) {
+                tiles[i] = render(keys[i], deviceScale, hints, font, drawing, exclude, configuration);
+            }
+        }
+        for (final int i : missing) {
+            this.cache.put(keys[i], tiles[i]);
+        }
+        final AffineTransform transform = g.getTransform();
+        g.scale(1.0 / deviceScale, 1.0 / deviceScale);
+        for (int i = 0; i < keys.length; i++) {
+            g.drawImage(
+                    tiles[i],
+                    (keys[i].column() * TileCache.TILE_SIZE) + offsetX,
+                    (keys[i].row() * TileCache.TILE_SIZE) + offsetY,
+                    null
+            );
+        }
+        g.setTransform(transform);
+    }
+
+    private static BufferedImage render(final TileCache.TileKey key,
+                                        final double deviceScale,
+                                        final RenderingHints hints,
+                                        final Font font,
+                                        final Drawing drawing,
+                                        final DrawElement exclude,
+                                        final GraphicsConfiguration configuration) {
+        final BufferedImage tile = configuration == null
+                ? new BufferedImage(TileCache.TILE_SIZE, TileCache.TILE_SIZE, BufferedImage.TYPE_INT_RGB)
+                : configuration.createCompatibleImage(TileCache.TILE_SIZE, TileCache.TILE_SIZE, Transparency.OPAQUE);
+        final Graphics2D g = tile.createGraphics();
+        try {
+            g.setRenderingHints(hints);
+            g.setRenderingHint(LevelOfDetail.DEVICE_SCALE, deviceScale);
+            g.setFont(font);
+            g.setColor(Color.white);
+            g.fillRect(0, 0, TileCache.TILE_SIZE, TileCache.TILE_SIZE);
+            // Labels clear the area they cover to the background, which is black for an image
+            g.setBackground(Color.white);
+            final int x = key.column() * TileCache.TILE_SIZE;
+            final int y = key.row() * TileCache.TILE_SIZE;
+            g.translate(-x, -y);
+            g.setClip(x, y, TileCache.TILE_SIZE, TileCache.TILE_SIZE);
+            g.scale(key.scale(), key.scale());
+            // One pixel of the screen wide, as the element being edited is drawn
+            g.setStroke(Strokes.hairline(key.scale() / deviceScale));
+            g.setColor(Color.black);
+            drawing.draw(g, exclude);
+        } finally {
+            g.dispose();
+        }
+        return tile;
+    }
+}
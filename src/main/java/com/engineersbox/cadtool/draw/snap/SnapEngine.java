@@ -0,0 +1,104 @@
+package com.engineersbox.cadtool.draw.snap;
+
+import com.engineersbox.cadtool.Options;
+import com.engineersbox.cadtool.draw.element.DrawElement;
+import com.engineersbox.cadtool.draw.index.ElementIndex;
+import com.engineersbox.cadtool.draw.index.PointKdTree;
+import com.engineersbox.cadtool.draw.intersection.Intersection;
+import com.engineersbox.cadtool.draw.intersection.IntersectionIndex;
+
+import java.awt.geom.Point2D;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ *     SnapEngine - resolves positions being placed or moved onto nearby points of interest.
+ * </p>
+ * <p>
+ *     The snap points of every element (end points, mid points, centroids, etc.) are held in a
+ *     kd-tree that is updated as elements change, so the nearest target can be found at the rate
+ *     mouse events arrive regardless of the size of the drawing. Crossings between elements are
+ *     considered alongside them, the nearest of the two winning. When no object lies within the
+ *     snap radius, the position falls back to the nearest grid intersection if grid snapping is
+ *     enabled.
+ * </p>
+ */
+public class SnapEngine implements ElementIndex {
+
+    private final Options options;
+    private final IntersectionIndex intersections;
+    private final PointKdTree<DrawElement> tree;
+    private final Map<DrawElement, List<PointKdTree.Entry<DrawElement>>> elements;
+
+    public SnapEngine(final Options options, final IntersectionIndex intersections) {
+        this.options = options;
+        this.intersections = intersections;
+        this.tree = new PointKdTree<>();
+        this.elements = new IdentityHashMap<>();
+    }
+
+    @Override
+    public void insert(final DrawElement element) {
+        final List<Point2D> snapPoints = element.snapPoints();
+        final List<PointKdTree.Entry<DrawElement>> entries = new ArrayList<>(snapPoints.size());
+        for (final Point2D point : snapPoints) {
+            entries.add(this.tree.insert(point.getX(), point.getY(), element));
+        }
+        this.elements.put(element, entries);
+    }
+
+    @Override
+    public boolean remove(final DrawElement element) {
+        final List<PointKdTree.Entry<DrawElement>> entries = this.elements.remove(element);
+        if (entries == null) {
+            return false;
+        }
+        entries.forEach(this.tree::remove);
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        this.tree.clear();
+        this.elements.clear();
+    }
+
+    /**
+     * Snap a position according to the current options.
+     *
+     * @param point Position to snap
+     * @param radius Distance within which object snap points are considered
+     * @param exclude Element whose own snap points and crossings are ignored, typically the one being edited. May be null.
+     * @return Snapped position, or a copy of the original position if nothing applies
+     */
+    public Point2D snap(final Point2D point, final double radius, final DrawElement exclude) {
+        if (this.options.snapToPoints) {
+            final PointKdTree.Entry<DrawElement> nearest = this.tree.nearest(
+                    point.getX(),
+                    point.getY(),
+                    radius,
+                    (final DrawElement element) -> element != exclude
+            );
+            // Only crossings closer than the nearest snap point can improve on it
+            final double crossingRadius = nearest == null
+                    ? radius
+                    : point.distance(nearest.getX(), nearest.getY());
+            final Intersection crossing = this.intersections.nearest(point, crossingRadius, exclude);
+            if (crossing != null) {
+                return new Point2D.Double(crossing.x(), crossing.y());
+            } else if (nearest != null) {
+                return new Point2D.Double(nearest.getX(), nearest.getY());
+            }
+        }
+        if (this.options.snapToGrid && this.options.gridSpacing > 0) {
+            return new Point2D.Double(
+                    Math.round(point.getX() / this.options.gridSpacing) * this.options.gridSpacing,
+                    Math.round(point.getY() / this.options.gridSpacing) * this.options.gridSpacing
+            );
+        }
+        return new Point2D.Double(point.getX(), point.getY());
+    }
+}
@@ -0,0 +1,76 @@
+package com.engineersbox.cadtool.facade;
+
+/**
+ * <p>
+ *     BinaryFormat - the layout shared by {@link BinaryStoreFacade} and {@link BinaryLoadFacade}.
+ * </p>
+ * <p>
+ *     A file starts with {@link #MAGIC}, {@link #VERSION} and the name of the drawing, followed
+ *     by one record per element. A record is the name id of the element type and its number of
+ *     attributes, then each attribute as its name id and kind packed into one varint followed by
+ *     its value. Names, both of element types and of attributes, are stored once in a table after
+ *     the elements, followed by an index of the offset of each element as fixed width longs. The
+ *     file ends with the offsets of the name table and the index, and the magic number again.
+ * </p>
+ * <p>
+ *     Coordinates that are exact multiples of {@code 1 / FIXED_SCALE} are written as fixed point,
+ *     as the zigzag varint of their difference from the previous point of the element, so the
+ *     points of a spline or the corners of a box usually take a byte or two each. Anything else
+ *     is written as the raw bits of the double, so a drawing always loads back exactly as saved.
+ * </p>
+ */
+final class BinaryFormat {
+
+    static final String EXTENSION = ".cadb";
+    // "CADB"
+    static final int MAGIC = 0x43414442;
+    static final byte VERSION = 1;
+    // Offsets of the name table and the index, then the magic number
+    static final int TRAILER_SIZE = (Long.BYTES * 2) + Integer.BYTES;
+
+    static final int KIND_BITS = 3;
+    static final int KIND_MASK = (1 << BinaryFormat.KIND_BITS) - 1;
+    static final int POINT_FIXED = 0;
+    static final int POINT_RAW = 1;
+    static final int INTEGER = 2;
+    static final int DOUBLE_FIXED = 3;
+    static final int DOUBLE_RAW = 4;
+    static final int STRING = 5;
+
+    static final double FIXED_SCALE = 1024.0;
+    // Largest magnitude of a fixed point value, beyond which not every long is exactly a double
+    private static final double FIXED_LIMIT = 0x1p53;
+    private static final long NEGATIVE_ZERO = Double.doubleToRawLongBits(-0.0);
+
+    private BinaryFormat() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * @param value Coordinate to write
+     * @return Whether the coordinate is held exactly by its fixed point value
+     */
+    static boolean isFixed(final double value) {
+        final double scaled = value * BinaryFormat.FIXED_SCALE;
+        return scaled == Math.rint(scaled)
+                && Math.abs(scaled) < BinaryFormat.FIXED_LIMIT
+                && Double.doubleToRawLongBits(value) != BinaryFormat.NEGATIVE_ZERO;
+    }
+
+    static long toFixed(final double value) {
+        return (long) (value * BinaryFormat.FIXED_SCALE);
+    }
+
+    static double fromFixed(final long value) {
+        return value / BinaryFormat.FIXED_SCALE;
+    }
+
+    // Interleaves negative and positive values so small magnitudes of either sign make short varints
+    static long zigZag(final long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static long unZigZag(final long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
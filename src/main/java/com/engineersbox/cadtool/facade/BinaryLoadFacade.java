@@ -0,0 +1,183 @@
+package com.engineersbox.cadtool.facade;
+
+import java.awt.geom.Point2D;
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * <p>
+ *     BinaryLoadFacade - loads drawings saved in the binary format laid out in {@link BinaryFormat}.
+ * </p>
+ * <p>
+ *     The file is memory mapped rather than read, so opening it only decodes the name table, and
+ *     each element is decoded straight from the mapped pages when it is reached through the
+ *     element index. Only the attributes of the current element are held on the heap.
+ * </p>
+ */
+public class BinaryLoadFacade extends LoadFacade {
+
+    private MappedByteBuffer buffer;
+    private final String[] names;
+    private final int indexOffset;
+    private final int elementCount;
+    private int nextElement;
+    private final Map<String, Object> values;
+
+    private BinaryLoadFacade(final MappedByteBuffer buffer,
+                             final String[] names,
+                             final int indexOffset,
+                             final int elementCount) {
+        this.buffer = buffer;
+        this.names = names;
+        this.indexOffset = indexOffset;
+        this.elementCount = elementCount;
+        this.nextElement = 0;
+        this.values = new HashMap<>();
+    }
+
+    public static LoadFacade load(final File file) {
+        try (final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if (size > Integer.MAX_VALUE || size < Integer.BYTES + 1 + BinaryFormat.TRAILER_SIZE) {
+                throw new IOException("Unsupported file size " + size);
+            }
+            // The mapping stays valid once the channel is closed
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            final int trailer = (int) size - BinaryFormat.TRAILER_SIZE;
+            if (buffer.getInt(0) != BinaryFormat.MAGIC
+                    || buffer.get(Integer.BYTES) != BinaryFormat.VERSION
+                    || buffer.getInt(trailer + (Long.BYTES * 2)) != BinaryFormat.MAGIC) {
+                throw new IOException("Not a binary drawing");
+            }
+            final int namesOffset = checkedOffset(buffer.getLong(trailer), trailer);
+            final int indexOffset = checkedOffset(buffer.getLong(trailer + Long.BYTES), trailer);
+            buffer.position(namesOffset);
+            final String[] names = new String[(int) readVarint(buffer)];
+            for (int i = 0; i < names.length; i++) {
+                names[i] = readString(buffer);
+            }
+            return new BinaryLoadFacade(buffer, names, indexOffset, (trailer - indexOffset) / Long.BYTES);
+        } catch (final Exception e) {
+            System.err.println("Problem loading " + file);
+        }
+        return null;
+    }
+
+    private static int checkedOffset(final long offset, final int limit) throws IOException {
+        if (offset < 0 || offset > limit) {
+            throw new IOException("Offset outside of file " + offset);
+        }
+        return (int) offset;
+    }
+
+    @Override
+    public String nextElement() {
+        if (this.buffer == null)
+            return null;
+        if (this.nextElement == this.elementCount) {
+            close();
+            return null;
+        }
+        try {
+            final long offset = this.buffer.getLong(this.indexOffset + (this.nextElement++ * Long.BYTES));
+            this.buffer.position(checkedOffset(offset, this.indexOffset));
+            final String name = this.names[(int) readVarint(this.buffer)];
+            readAttributes((int) readVarint(this.buffer));
+            return name;
+        } catch (final IOException | RuntimeException e) {
+            close();
+            throw new IllegalStateException("Unable to read element", e);
+        }
+    }
+
+    private void readAttributes(final int count) throws IOException {
+        this.values.clear();
+        long previousX = 0;
+        long previousY = 0;
+        for (int i = 0; i < count; i++) {
+            final long header = readVarint(this.buffer);
+            final String name = this.names[(int) (header >>> BinaryFormat.KIND_BITS)];
+            final Object value = switch ((int) (header & BinaryFormat.KIND_MASK)) {
+                case BinaryFormat.POINT_FIXED -> {
+                    previousX += BinaryFormat.unZigZag(readVarint(this.buffer));
+                    previousY += BinaryFormat.unZigZag(readVarint(this.buffer));
+                    yield new Point2D.Double(BinaryFormat.fromFixed(previousX), BinaryFormat.fromFixed(previousY));
+                }
+                case BinaryFormat.POINT_RAW -> new Point2D.Double(this.buffer.getDouble(), this.buffer.getDouble());
+                case BinaryFormat.INTEGER -> (int) BinaryFormat.unZigZag(readVarint(this.buffer));
+                case BinaryFormat.DOUBLE_FIXED -> BinaryFormat.fromFixed(BinaryFormat.unZigZag(readVarint(this.buffer)));
+                case BinaryFormat.DOUBLE_RAW -> this.buffer.getDouble();
+                case BinaryFormat.STRING -> readString(this.buffer);
+                default -> throw new IOException("Unknown attribute kind in " + header);
+            };
+            this.values.putIfAbsent(name, value);
+        }
+    }
+
+    private static long readVarint(final MappedByteBuffer buffer) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            final byte next = buffer.get();
+            value |= (long) (next & 0x7F) << shift;
+            if (next >= 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    private static String readString(final MappedByteBuffer buffer) throws IOException {
+        final int length = (int) readVarint(buffer);
+        if (length < 0 || length > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        final byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public Point2D getPoint(final String name) {
+        return this.values.get(name) instanceof final Point2D point ? point : null;
+    }
+
+    // Other values are converted through their text as the XML loader would, such as reading an integer as a double
+
+    @Override
+    public Integer getInteger(final String name) {
+        final Object value = this.values.get(name);
+        if (value == null || value instanceof Integer) {
+            return (Integer) value;
+        }
+        return Integer.parseInt(value.toString());
+    }
+
+    @Override
+    public Double getDouble(final String name) {
+        final Object value = this.values.get(name);
+        if (value == null || value instanceof Double) {
+            return (Double) value;
+        }
+        return Double.parseDouble(value.toString());
+    }
+
+    @Override
+    public String getString(final String name) {
+        final Object value = this.values.get(name);
+        return value == null ? null : value.toString();
+    }
+
+    @Override
+    public void close() {
+        // Unmapped once no longer referenced
+        this.buffer = null;
+        this.values.clear();
+    }
+}
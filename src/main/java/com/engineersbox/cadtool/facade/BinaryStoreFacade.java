@@ -0,0 +1,265 @@
+package com.engineersbox.cadtool.facade;
+
+import java.awt.geom.Point2D;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * BinaryStoreFacade - saves drawings in the compact binary format laid out in {@link BinaryFormat}.
+ * Each element is collected until the next is started, as its record leads with its number of
+ * attributes, and then streamed out to the file. The name table and element index follow once
+ * the facade is closed.
+ */
+public class BinaryStoreFacade extends StoreFacade {
+
+    public static final String EXTENSION = BinaryFormat.EXTENSION;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final File file;
+    private OutputStream output;
+    private long position;
+    private final Map<String, Integer> nameIds;
+    private final List<String> names;
+    private long[] offsets;
+    private int elementCount;
+    // Record of the current element, from its first attribute onwards
+    private byte[] record;
+    private int recordSize;
+    private int typeId;
+    private int attributeCount;
+    private long previousX;
+    private long previousY;
+
+    public BinaryStoreFacade(final File file, final String name) {
+        this.file = file;
+        this.position = 0;
+        this.nameIds = new HashMap<>();
+        this.names = new ArrayList<>();
+        this.offsets = new long[64];
+        this.elementCount = 0;
+        this.record = new byte[256];
+        this.recordSize = 0;
+        this.typeId = -1;
+        try {
+            this.output = new BufferedOutputStream(Channels.newOutputStream(FileChannel.open(
+                    file.toPath(),
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.WRITE
+            )), BinaryStoreFacade.BUFFER_SIZE);
+            writeInt(BinaryFormat.MAGIC);
+            write(BinaryFormat.VERSION);
+            writeString(name);
+        } catch (final IOException e) {
+            fail(e);
+        }
+    }
+
+    /**
+     * @param file File to check
+     * @return Whether the file is named as a drawing in the binary format
+     */
+    public static boolean isBinary(final File file) {
+        return file.getName().toLowerCase(Locale.ROOT).endsWith(BinaryFormat.EXTENSION);
+    }
+
+    @Override
+    public void start(final String name) {
+        if (this.output == null) return;
+        try {
+            if (this.typeId != -1) end();
+        } catch (final IOException e) {
+            fail(e);
+            return;
+        }
+        this.typeId = nameId(name);
+        this.attributeCount = 0;
+        this.recordSize = 0;
+        // Each element is delta encoded from the origin, so it can be read on its own through the index
+        this.previousX = 0;
+        this.previousY = 0;
+    }
+
+    private void end() throws IOException {
+        if (this.elementCount == this.offsets.length) {
+            this.offsets = Arrays.copyOf(this.offsets, this.elementCount * 2);
+        }
+        this.offsets[this.elementCount++] = this.position;
+        writeVarint(this.typeId);
+        writeVarint(this.attributeCount);
+        this.output.write(this.record, 0, this.recordSize);
+        this.position += this.recordSize;
+        this.typeId = -1;
+    }
+
+    @Override
+    public void addPoint(final String name, final Point2D a) {
+        assert(this.typeId != -1);
+        if (BinaryFormat.isFixed(a.getX()) && BinaryFormat.isFixed(a.getY())) {
+            final long x = BinaryFormat.toFixed(a.getX());
+            final long y = BinaryFormat.toFixed(a.getY());
+            attribute(name, BinaryFormat.POINT_FIXED);
+            recordVarint(BinaryFormat.zigZag(x - this.previousX));
+            recordVarint(BinaryFormat.zigZag(y - this.previousY));
+            this.previousX = x;
+            this.previousY = y;
+        } else {
+            attribute(name, BinaryFormat.POINT_RAW);
+            recordLong(Double.doubleToRawLongBits(a.getX()));
+            recordLong(Double.doubleToRawLongBits(a.getY()));
+        }
+    }
+
+    @Override
+    public void addInteger(final String name, final int value) {
+        assert(this.typeId != -1);
+        attribute(name, BinaryFormat.INTEGER);
+        recordVarint(BinaryFormat.zigZag(value));
+    }
+
+    @Override
+    public void addDouble(final String name, final double value) {
+        assert(this.typeId != -1);
+        if (BinaryFormat.isFixed(value)) {
+            attribute(name, BinaryFormat.DOUBLE_FIXED);
+            recordVarint(BinaryFormat.zigZag(BinaryFormat.toFixed(value)));
+        } else {
+            attribute(name, BinaryFormat.DOUBLE_RAW);
+            recordLong(Double.doubleToRawLongBits(value));
+        }
+    }
+
+    @Override
+    public void addString(final String name, final String value) {
+        assert(this.typeId != -1);
+        attribute(name, BinaryFormat.STRING);
+        // Missing text is saved as empty, as it is in XML
+        final byte[] bytes = (value == null ? "" : value).getBytes(StandardCharsets.UTF_8);
+        recordVarint(bytes.length);
+        recordBytes(bytes);
+    }
+
+    @Override
+    public void close() {
+        if (this.output == null) return;
+        try {
+            if (this.typeId != -1) end();
+            final long namesOffset = this.position;
+            writeVarint(this.names.size());
+            for (final String name : this.names) {
+                writeString(name);
+            }
+            final long indexOffset = this.position;
+            for (int i = 0; i < this.elementCount; i++) {
+                writeLong(this.offsets[i]);
+            }
+            writeLong(namesOffset);
+            writeLong(indexOffset);
+            writeInt(BinaryFormat.MAGIC);
+            this.output.close();
+        } catch (final IOException e) {
+            fail(e);
+        } finally {
+            this.output = null;
+        }
+    }
+
+    private void fail(final Exception e) {
+        e.printStackTrace();
+        System.err.println("Problem saving " + this.file + " " + e);
+        if (this.output != null) {
+            try {
+                this.output.close();
+            } catch (final IOException ignored) {
+                // already reported the original problem
+            }
+        }
+        this.output = null;
+    }
+
+    private int nameId(final String name) {
+        return this.nameIds.computeIfAbsent(name, (final String added) -> {
+            this.names.add(added);
+            return this.names.size() - 1;
+        });
+    }
+
+    private void attribute(final String name, final int kind) {
+        recordVarint(((long) nameId(name) << BinaryFormat.KIND_BITS) | kind);
+        this.attributeCount++;
+    }
+
+    private void recordVarint(final long value) {
+        ensureRecordCapacity(10);
+        long remaining = value;
+        while ((remaining & ~0x7FL) != 0) {
+            this.record[this.recordSize++] = (byte) ((remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+        this.record[this.recordSize++] = (byte) remaining;
+    }
+
+    private void recordLong(final long value) {
+        ensureRecordCapacity(Long.BYTES);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            this.record[this.recordSize++] = (byte) (value >>> shift);
+        }
+    }
+
+    private void recordBytes(final byte[] bytes) {
+        ensureRecordCapacity(bytes.length);
+        System.arraycopy(bytes, 0, this.record, this.recordSize, bytes.length);
+        this.recordSize += bytes.length;
+    }
+
+    private void ensureRecordCapacity(final int length) {
+        if (this.recordSize + length > this.record.length) {
+            this.record = Arrays.copyOf(this.record, Math.max(this.record.length * 2, this.recordSize + length));
+        }
+    }
+
+    private void write(final int value) throws IOException {
+        this.output.write(value);
+        this.position++;
+    }
+
+    private void writeVarint(final long value) throws IOException {
+        long remaining = value;
+        while ((remaining & ~0x7FL) != 0) {
+            write((int) ((remaining & 0x7F) | 0x80));
+            remaining >>>= 7;
+        }
+        write((int) remaining);
+    }
+
+    private void writeInt(final int value) throws IOException {
+        for (int shift = 24; shift >= 0; shift -= 8) {
+            write(value >>> shift);
+        }
+    }
+
+    private void writeLong(final long value) throws IOException {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            write((int) (value >>> shift));
+        }
+    }
+
+    private void writeString(final String value) throws IOException {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarint(bytes.length);
+        this.output.write(bytes);
+        this.position += bytes.length;
+    }
+}
@@ -0,0 +1,165 @@
+package com.engineersbox.cadtool.facade;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.awt.geom.Point2D;
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * XmlLoadFacade - This provides a facade into the standard XML API for loading
+ * drawings. The file is streamed, so only the element currently being loaded
+ * is held in memory, with its attributes collected into a map when it is read.
+ *
+ * @author Eric McCreath
+ *
+ */
+
+public class XmlLoadFacade extends LoadFacade {
+	private InputStream input;
+	private XMLStreamReader reader;
+	// Text content of each attribute of the current element, and the coordinates of those holding points
+	private final Map<String, String> values;
+	private final Map<String, String[]> points;
+	private final List<String> childValues;
+
+	private XmlLoadFacade(final InputStream input, final XMLStreamReader reader) {
+		this.input = input;
+		this.reader = reader;
+		this.values = new HashMap<>();
+		this.points = new HashMap<>();
+		this.childValues = new ArrayList<>(2);
+	}
+
+	public static LoadFacade load(final File file) {
+		try {
+			final XMLInputFactory factory = XMLInputFactory.newFactory();
+			factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+			factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+			final InputStream input = new BufferedInputStream(Files.newInputStream(file.toPath()));
+			try {
+				final XMLStreamReader reader = factory.createXMLStreamReader(input);
+				// move onto the drawing element, whose children are the draw elements
+				reader.nextTag();
+				return new XmlLoadFacade(input, reader);
+			} catch (final XMLStreamException e) {
+				input.close();
+				throw e;
+			}
+		} catch (final Exception e) {
+			System.err.println("Problem loading " + file);
+		}
+		return null;
+	}
+
+	@Override
+	public String nextElement() {
+		if (this.reader == null)
+			return null;
+		try {
+			while (this.reader.hasNext()) {
+				final int event = this.reader.next();
+				if (event == XMLStreamConstants.START_ELEMENT) {
+					final String name = this.reader.getLocalName();
+					readAttributes();
+					return name;
+				} else if (event == XMLStreamConstants.END_ELEMENT) {
+					break; // end of the drawing element
+				}
+			}
+		} catch (final XMLStreamException e) {
+			close();
+			throw new IllegalStateException("Unable to read element", e);
+		}
+		close();
+		return null;
+	}
+
+	// Read the children of the current element up to its end tag, recording the text content of each
+	private void readAttributes() throws XMLStreamException {
+		this.values.clear();
+		this.points.clear();
+		while (this.reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+			final String name = this.reader.getLocalName();
+			final String content = readContent();
+			this.values.putIfAbsent(name, content);
+			if (this.childValues.size() >= 2) {
+				this.points.putIfAbsent(name, new String[]{this.childValues.get(0), this.childValues.get(1)});
+			}
+		}
+	}
+
+	// Read the text content of an attribute up to its end tag, noting the text content of each of its children
+	private String readContent() throws XMLStreamException {
+		final StringBuilder content = new StringBuilder();
+		this.childValues.clear();
+		int depth = 1;
+		int childStart = 0;
+		while (depth > 0) {
+			switch (this.reader.next()) {
+				case XMLStreamConstants.START_ELEMENT -> {
+					depth++;
+					if (depth == 2) childStart = content.length();
+				}
+				case XMLStreamConstants.END_ELEMENT -> {
+					if (depth == 2) this.childValues.add(content.substring(childStart));
+					depth--;
+				}
+				case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA, XMLStreamConstants.SPACE ->
+					content.append(this.reader.getText());
+				default -> {
+				}
+			}
+		}
+		return content.toString();
+	}
+
+	@Override
+	public Point2D getPoint(final String name) {
+		final String[] point = this.points.get(name);
+		if (point == null)
+			return null;
+		return new Point2D.Double(Double.parseDouble(point[0]), Double.parseDouble(point[1]));
+	}
+
+	@Override
+	public Integer getInteger(final String name) {
+		final String value = this.values.get(name);
+		return value == null ? null : Integer.parseInt(value);
+	}
+
+	@Override
+	public Double getDouble(final String name) {
+		final String value = this.values.get(name);
+		return value == null ? null : Double.parseDouble(value);
+	}
+
+	@Override
+	public String getString(final String name) {
+		return this.values.get(name);
+	}
+
+	@Override
+	public void close() {
+		if (this.reader == null)
+			return;
+		try {
+			this.reader.close();
+			this.input.close();
+		} catch (final XMLStreamException | IOException e) {
+			System.err.println("Problem closing drawing " + e);
+		} finally {
+			this.reader = null;
+			this.input = null;
+		}
+	}
+}
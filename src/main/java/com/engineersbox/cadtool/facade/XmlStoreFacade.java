@@ -0,0 +1,169 @@
+package com.engineersbox.cadtool.facade;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.awt.geom.Point2D;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+/**
+ * XmlStoreFacade - This provides a facade into the standard XML API for saving drawings.
+ * Elements are streamed out to the file as they are added, rather than collected
+ * into a document and written once the drawing is closed.
+ *
+ * @author Eric McCreath
+ *
+ */
+public class XmlStoreFacade extends StoreFacade {
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private OutputStream output;
+	private XMLStreamWriter writer;
+	private final String name;
+	private boolean started;
+	private boolean inElement;
+	private final File file;
+
+	public XmlStoreFacade(final File file, final String name) {
+		this.name = name;
+		this.started = false;
+		this.inElement = false;
+		this.file = file;
+		try {
+			this.output = new BufferedOutputStream(Channels.newOutputStream(FileChannel.open(
+					file.toPath(),
+					StandardOpenOption.CREATE,
+					StandardOpenOption.TRUNCATE_EXISTING,
+					StandardOpenOption.WRITE
+			)), XmlStoreFacade.BUFFER_SIZE);
+			this.writer = XMLOutputFactory.newFactory().createXMLStreamWriter(this.output, StandardCharsets.UTF_8.name());
+		} catch (final IOException | XMLStreamException e) {
+			fail(e);
+		}
+	}
+
+	@Override
+	public void start(final String name) { // create and start a new element
+		if (this.writer == null) return;
+		try {
+			if (this.inElement) end();
+			startDrawing();
+			this.writer.writeStartElement(name);
+			this.inElement = true;
+		} catch (final XMLStreamException e) {
+			fail(e);
+		}
+	}
+
+	private void startDrawing() throws XMLStreamException { // write the drawing element ahead of its first child
+		if (this.started) return;
+		this.writer.writeStartDocument(StandardCharsets.UTF_8.name(), "1.0");
+		this.writer.writeStartElement(this.name);
+		this.started = true;
+	}
+
+	private void end() throws XMLStreamException { // end the element within the drawing element
+		this.writer.writeEndElement();
+		this.inElement = false;
+	}
+
+	@Override
+	public void addPoint(final String name, final Point2D a) {
+		assert(this.inElement);
+		if (this.writer == null) return;
+		try {
+			this.writer.writeStartElement(name);
+			writeText("x", Double.toString(a.getX()));
+			writeText("y", Double.toString(a.getY()));
+			this.writer.writeEndElement();
+		} catch (final XMLStreamException e) {
+			fail(e);
+		}
+	}
+
+	@Override
+	public void close() {
+		if (this.writer == null) return;
+		try {
+			if (this.inElement) end();
+			if (this.started) {
+				this.writer.writeEndElement();
+			} else {
+				// a drawing without elements is written as an empty drawing element
+				this.writer.writeStartDocument(StandardCharsets.UTF_8.name(), "1.0");
+				this.writer.writeEmptyElement(this.name);
+			}
+			this.writer.writeEndDocument();
+			this.writer.close();
+			this.output.close();
+		} catch (final XMLStreamException | IOException e) {
+			fail(e);
+		} finally {
+			this.writer = null;
+		}
+	}
+
+	private void fail(final Exception e) {
+		e.printStackTrace();
+		System.err.println("Problem saving " + this.file + " " + e);
+		this.writer = null;
+		if (this.output != null) {
+			try {
+				this.output.close();
+			} catch (final IOException ignored) {
+				// already reported the original problem
+			}
+		}
+	}
+
+	private void writeText(final String name, final String value) throws XMLStreamException {
+		if (value == null || value.isEmpty()) {
+			this.writer.writeEmptyElement(name);
+			return;
+		}
+		this.writer.writeStartElement(name);
+		// carriage returns are written as references, as a reader would otherwise normalise them to line feeds
+		int from = 0;
+		int index;
+		while ((index = value.indexOf('\r', from)) != -1) {
+			this.writer.writeCharacters(value.substring(from, index));
+			this.writer.writeEntityRef("#13");
+			from = index + 1;
+		}
+		this.writer.writeCharacters(value.substring(from));
+		this.writer.writeEndElement();
+	}
+
+	@Override
+	public void addInteger(final String name, final int value) {
+		assert(this.inElement);
+		add(name, Integer.toString(value));
+	}
+
+	@Override
+	public void addDouble(final String name, final double value) {
+		assert(this.inElement);
+		add(name, Double.toString(value));
+	}
+
+	@Override
+	public void addString(final String name, final String value) {
+		assert(this.inElement);
+		add(name, value);
+	}
+
+	private void add(final String name, final String value) {
+		if (this.writer == null) return;
+		try {
+			writeText(name, value);
+		} catch (final XMLStreamException e) {
+			fail(e);
+		}
+	}
+}
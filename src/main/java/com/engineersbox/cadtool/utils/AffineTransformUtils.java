@@ -18,4 +18,24 @@ public class AffineTransformUtils {
         return transform;
     }
 
+    /**
+     * Translate the result of a transform in place, as pre-concatenating a translation would,
+     * without allocating the translation.
+     * @param transform Transform to translate
+     * @param dx Distance to translate along the x axis
+     * @param dy Distance to translate along the y axis
+     */
+    public static void preTranslate(final AffineTransform transform,
+                                    final double dx,
+                                    final double dy) {
+        transform.setTransform(
+                transform.getScaleX(),
+                transform.getShearY(),
+                transform.getShearX(),
+                transform.getScaleY(),
+                transform.getTranslateX() + dx,
+                transform.getTranslateY() + dy
+        );
+    }
+
 }
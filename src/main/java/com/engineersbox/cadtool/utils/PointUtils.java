@@ -35,4 +35,36 @@ public class PointUtils {
 		transform.transform(point, newPoint);
 		return newPoint;
 	}
+
+	/*
+	 * Variants writing their result into a destination point rather than allocating a new one,
+	 * for use in loops and on every mouse event. The destination may be one of the inputs.
+	 */
+
+	public static Point2D mid(final Point2D p1, final Point2D p2, final Point2D dst) {
+		dst.setLocation((p1.getX() + p2.getX())/2.0,(p1.getY() + p2.getY())/2.0);
+		return dst;
+	}
+
+	public static Point2D sub(final Point2D p1, final Point2D p2, final Point2D dst) {
+		dst.setLocation((p1.getX() - p2.getX()),(p1.getY() - p2.getY()));
+		return dst;
+	}
+
+	public static Point2D add(final Point2D p1, final Point2D p2, final Point2D dst) {
+		dst.setLocation((p1.getX() + p2.getX()),(p1.getY() + p2.getY()));
+		return dst;
+	}
+
+	public static Point2D scale(final Point2D p1, final double s, final Point2D dst) {
+		dst.setLocation((p1.getX() * s),(p1.getY() * s));
+		return dst;
+	}
+
+	public static Point2D applyTransform(final Point2D point,
+										 final AffineTransform transform,
+										 final Point2D dst) {
+		transform.transform(point, dst);
+		return dst;
+	}
 }
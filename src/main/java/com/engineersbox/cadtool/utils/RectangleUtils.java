@@ -0,0 +1,48 @@
+package com.engineersbox.cadtool.utils;
+
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.List;
+
+public class RectangleUtils {
+
+    private RectangleUtils() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Split the area covered by one rectangle but not another into at most four
+     * disjoint rectangles: full width strips above and below the overlap, and
+     * strips either side of it.
+     *
+     * @param a Rectangle to subtract from
+     * @param b Rectangle to subtract
+     * @return Rectangles covering a excluding b
+     */
+    public static List<Rectangle2D> subtract(final Rectangle2D a, final Rectangle2D b) {
+        final List<Rectangle2D> difference = new ArrayList<>(4);
+        if (a.isEmpty()) {
+            return difference;
+        } else if (b.isEmpty() || !a.intersects(b)) {
+            difference.add(a);
+            return difference;
+        }
+        final double overlapMinY = Math.max(a.getMinY(), b.getMinY());
+        final double overlapMaxY = Math.min(a.getMaxY(), b.getMaxY());
+        addIfNotEmpty(difference, a.getMinX(), a.getMinY(), a.getMaxX(), overlapMinY);
+        addIfNotEmpty(difference, a.getMinX(), overlapMaxY, a.getMaxX(), a.getMaxY());
+        addIfNotEmpty(difference, a.getMinX(), overlapMinY, Math.min(a.getMaxX(), b.getMinX()), overlapMaxY);
+        addIfNotEmpty(difference, Math.max(a.getMinX(), b.getMaxX()), overlapMinY, a.getMaxX(), overlapMaxY);
+        return difference;
+    }
+
+    private static void addIfNotEmpty(final List<Rectangle2D> rectangles,
+                                      final double minX,
+                                      final double minY,
+                                      final double maxX,
+                                      final double maxY) {
+        if (maxX > minX && maxY > minY) {
+            rectangles.add(new Rectangle2D.Double(minX, minY, maxX - minX, maxY - minY));
+        }
+    }
+}